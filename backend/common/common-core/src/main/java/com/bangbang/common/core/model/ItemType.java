@@ -0,0 +1,113 @@
+package com.bangbang.common.core.model;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Item types a demand can carry and a journey can prefer.
+ * Each type owns a fixed bit, so a set of types is a single long mask: journeys store and
+ * ship their preferences as a mask and matching checks a demand against them with one AND.
+ * Bits are persisted; never reuse or renumber them, only append new types. Keep them
+ * below 53 so masks survive JSON clients that parse numbers as doubles.
+ * Names are matched case-insensitively, and names outside the dictionary map to OTHER, so
+ * a preference must be checked with {@link #isKnown} before it is stored or it would
+ * accept every unlisted type; {@link #namesOf} answers in lowercase, the form journey
+ * clients send.
+ */
+public enum ItemType {
+    DOCUMENTS(0, "DOCUMENT"),
+    ELECTRONICS(1),
+    CLOTHING(2),
+    COSMETICS(3),
+    MEDICINE(4),
+    FOOD(5, "FOOD ITEMS"),
+    GIFTS(6, "GIFT"),
+    BOOKS(7, "BOOK"),
+    ACCESSORIES(8),
+    JEWELRY(9),
+    OTHER(10),
+    TOYS(11, "TOY");
+
+    private static final Map<String, ItemType> BY_NAME = new ConcurrentHashMap<>();
+
+    static {
+        for (ItemType type : values()) {
+            BY_NAME.put(type.name(), type);
+            for (String alias : type.aliases) {
+                BY_NAME.put(alias, type);
+            }
+        }
+    }
+
+    private final long bit;
+    private final String[] aliases;
+
+    ItemType(int bitIndex, String... aliases) {
+        this.bit = 1L << bitIndex;
+        this.aliases = aliases;
+    }
+
+    public long bit() {
+        return bit;
+    }
+
+    /**
+     * Type for a free-form name; null for a missing name
+     */
+    public static ItemType fromName(String name) {
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        return BY_NAME.getOrDefault(name.trim().toUpperCase(Locale.ROOT), OTHER);
+    }
+
+    /**
+     * Whether a name is one of the types or their aliases, rather than one that maps to OTHER
+     */
+    public static boolean isKnown(String name) {
+        return name != null && BY_NAME.containsKey(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Bit of a single name; 0 for a missing name, which no mask contains
+     */
+    public static long bitOf(String name) {
+        ItemType type = fromName(name);
+        return type == null ? 0L : type.bit;
+    }
+
+    /**
+     * Mask of a set of names; 0 for no names
+     */
+    public static long maskOf(Collection<String> names) {
+        if (names == null) {
+            return 0L;
+        }
+        long mask = 0L;
+        for (String name : names) {
+            mask |= bitOf(name);
+        }
+        return mask;
+    }
+
+    /**
+     * Lowercase names of the types in a mask, in declaration order
+     */
+    public static Set<String> namesOf(long mask) {
+        if (mask == 0L) {
+            return Collections.emptySet();
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (ItemType type : values()) {
+            if ((mask & type.bit) != 0) {
+                names.add(type.name().toLowerCase(Locale.ROOT));
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,16 @@
+package com.bangbang.demand.client;
+
+import com.bangbang.demand.event.DemandChangeEvent;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * Feign client for Matching Service
+ */
+@FeignClient(name = "matching-service")
+public interface MatchingServiceClient {
+
+    @PostMapping("/api/v1/matches/events/demands")
+    void publishDemandEvent(@RequestBody DemandChangeEvent event);
+}
@@ -2,11 +2,16 @@ package com.bangbang.demand.controller;
 
 import com.bangbang.demand.dto.CreateDemandRequest;
 import com.bangbang.demand.dto.DemandDto;
+import com.bangbang.demand.dto.DemandPage;
 import com.bangbang.demand.dto.UpdateDemandRequest;
+import com.bangbang.demand.event.DemandChangeEvent;
+import com.bangbang.demand.event.DemandChangeFeed;
 import com.bangbang.demand.service.DemandService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,9 +24,14 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/demands")
@@ -30,6 +40,8 @@ import java.util.List;
 public class DemandController {
     
     private final DemandService demandService;
+    private final DemandChangeFeed demandChangeFeed;
+    private final ObjectMapper objectMapper;
     
     @GetMapping
     public ResponseEntity<List<DemandDto>> getAllDemands() {
@@ -38,15 +50,52 @@ public class DemandController {
     
     @GetMapping("/{id}")
     public ResponseEntity<DemandDto> getDemandById(@PathVariable String id) {
-        // Increment view count when demand is viewed
+        // Counts the view in memory; the demand row is not written on this request
         return ResponseEntity.ok(demandService.incrementViewCount(id));
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<List<DemandDto>> getDemandsByIds(@RequestBody Set<String> ids) {
+        return ResponseEntity.ok(demandService.getDemandsByIds(ids));
+    }
+    
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<DemandDto>> getDemandsByUserId(@PathVariable String userId) {
         return ResponseEntity.ok(demandService.getDemandsByUserId(userId));
     }
     
+    /**
+     * Keyset scan over demands of one status, ordered by id. Pass the last id of the
+     * previous page as afterId; an empty page means the scan is complete.
+     */
+    @GetMapping("/scan")
+    public ResponseEntity<List<DemandDto>> scanDemandsByStatus(
+            @RequestParam String status,
+            @RequestParam(required = false) String afterId,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(demandService.scanDemandsByStatus(status, afterId, limit));
+    }
+    
+    /**
+     * Cursor-paginated variant of {@link #getAllDemands()}, ordered by (createdAt, id)
+     */
+    @GetMapping("/page")
+    public ResponseEntity<DemandPage> getDemandsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(demandService.searchDemandsPage(
+                null, null, null, null, null, null, null, null, cursor, limit));
+    }
+    
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<DemandPage> getDemandsPageByUserId(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(demandService.searchDemandsPage(
+                userId, null, null, null, null, null, null, null, cursor, limit));
+    }
+    
     @GetMapping("/search")
     public ResponseEntity<List<DemandDto>> searchDemands(
             @RequestParam(required = false) String originCountry,
@@ -61,9 +110,75 @@ public class DemandController {
                 originCountry, originCity, destinationCountry, destinationCity, itemType, maxWeight, status));
     }
     
+    /**
+     * Cursor-paginated variant of the search. Callers that need the complete result keep
+     * following nextCursor until it is null.
+     */
+    @GetMapping("/search/page")
+    public ResponseEntity<DemandPage> searchDemandsPage(
+            @RequestParam(required = false) String originCountry,
+            @RequestParam(required = false) String originCity,
+            @RequestParam(required = false) String destinationCountry,
+            @RequestParam(required = false) String destinationCity,
+            @RequestParam(required = false) String itemType,
+            @RequestParam(required = false) Double maxWeight,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        
+        return ResponseEntity.ok(demandService.searchDemandsPage(
+                null, originCountry, originCity, destinationCountry, destinationCity, itemType, maxWeight, status,
+                cursor, limit));
+    }
+    
+    /**
+     * The whole search result as newline-delimited JSON, written while the rows are read
+     */
+    @GetMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDemands(
+            @RequestParam(required = false) String userId,
+            @RequestParam(required = false) String originCountry,
+            @RequestParam(required = false) String originCity,
+            @RequestParam(required = false) String destinationCountry,
+            @RequestParam(required = false) String destinationCity,
+            @RequestParam(required = false) String itemType,
+            @RequestParam(required = false) Double maxWeight,
+            @RequestParam(required = false) String status) {
+        
+        StreamingResponseBody body = out -> demandService.streamDemands(
+                userId, originCountry, originCity, destinationCountry, destinationCity, itemType, maxWeight, status,
+                demand -> writeLine(out, demand));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    /**
+     * Change feed: demand changes published after afterSequence, in sequence order.
+     * Consumers keep the sequence of the last change they applied and resume from it.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<List<DemandChangeEvent>> getChanges(
+            @RequestParam(defaultValue = "0") long afterSequence,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(demandChangeFeed.changesAfter(afterSequence, limit));
+    }
+    
+    /**
+     * Sequence of the latest published change, where a new consumer starts following the feed
+     */
+    @GetMapping("/changes/head")
+    public ResponseEntity<Long> getChangesHead() {
+        return ResponseEntity.ok(demandChangeFeed.headSequence());
+    }
+    
+    /**
+     * Most viewed pending demands, served from the in-memory leaderboard.
+     * Only the top demand.popular.size demands are ranked.
+     */
     @GetMapping("/popular")
-    public ResponseEntity<List<DemandDto>> getPopularDemands() {
-        return ResponseEntity.ok(demandService.getPopularDemands());
+    public ResponseEntity<List<DemandDto>> getPopularDemands(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(demandService.getPopularDemands(page, size));
     }
     
     @PostMapping
@@ -100,4 +215,13 @@ public class DemandController {
         
         return ResponseEntity.ok(demandService.cancelDemand(id, userDetails.getUsername()));
     }
-} 
\ No newline at end of file
+    
+    private void writeLine(OutputStream out, DemandDto demand) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(demand));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.bangbang.demand.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of demands, oldest first. Pass nextCursor back to get the following page;
+ * it is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DemandPage {
+    private List<DemandDto> items;
+    private String nextCursor;
+}
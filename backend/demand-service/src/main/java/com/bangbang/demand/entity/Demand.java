@@ -69,7 +69,8 @@ public class Demand {
     @Builder.Default
     private String status = "PENDING";
     
-    @Column(name = "view_count")
+    // Only ever incremented in place by ViewCountBuffer, so entity saves never overwrite it
+    @Column(name = "view_count", updatable = false)
     @Builder.Default
     private Integer viewCount = 0;
     
@@ -0,0 +1,50 @@
+package com.bangbang.demand.entity;
+
+import com.bangbang.demand.event.DemandChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "demand_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DemandOutboxEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "demand_id", nullable = false)
+    private String demandId;
+    
+    @Column(name = "change_type", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private DemandChangeType changeType;
+    
+    // Demand snapshot as JSON; null for deletions
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+    
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+    
+    // Position in the change feed, assigned by the relay; null until published
+    @Column(name = "sequence_number")
+    private Long sequence;
+    
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
@@ -0,0 +1,26 @@
+package com.bangbang.demand.event;
+
+import com.bangbang.demand.dto.DemandDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change notification sent to downstream consumers after a demand transaction commits
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DemandChangeEvent {
+    private DemandChangeType changeType;
+    private String demandId;
+    // Snapshot after the change; null for deletions
+    private DemandDto demand;
+    private LocalDateTime occurredAt;
+    // Position in the change feed; null on events pushed before the outbox relay numbered them
+    private Long sequence;
+}
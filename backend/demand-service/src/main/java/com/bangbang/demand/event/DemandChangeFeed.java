@@ -0,0 +1,68 @@
+package com.bangbang.demand.event;
+
+import com.bangbang.demand.dto.DemandDto;
+import com.bangbang.demand.entity.DemandOutboxEntry;
+import com.bangbang.demand.repository.DemandOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the published demand changes in sequence order
+ */
+@Component
+@RequiredArgsConstructor
+public class DemandChangeFeed {
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final DemandOutboxRepository demandOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Changes with a sequence number above afterSequence, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<DemandChangeEvent> changesAfter(long afterSequence, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return demandOutboxRepository.findBySequenceGreaterThanOrderBySequenceAsc(afterSequence, PageRequest.of(0, pageSize))
+                .stream()
+                .map(this::toEvent)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Sequence number of the latest published change; 0 before the first one
+     */
+    @Transactional(readOnly = true)
+    public long headSequence() {
+        return demandOutboxRepository.findMaxSequence();
+    }
+
+    private DemandChangeEvent toEvent(DemandOutboxEntry entry) {
+        return DemandChangeEvent.builder()
+                .changeType(entry.getChangeType())
+                .demandId(entry.getDemandId())
+                .demand(fromJson(entry.getPayload()))
+                .occurredAt(entry.getOccurredAt())
+                .sequence(entry.getSequence())
+                .build();
+    }
+
+    private DemandDto fromJson(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(payload, DemandDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable demand change payload", e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.bangbang.demand.event;
+
+public enum DemandChangeType {
+    CREATED,         // Demand was created
+    UPDATED,         // Demand details were edited
+    STATUS_CHANGED,  // Demand moved to another status (e.g. cancelled)
+    DELETED          // Demand was removed
+}
@@ -0,0 +1,66 @@
+package com.bangbang.demand.event;
+
+import com.bangbang.demand.dto.DemandDto;
+import com.bangbang.demand.entity.DemandOutboxEntry;
+import com.bangbang.demand.repository.DemandOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publishes demand changes.
+ * Each change is written to the demand_outbox in the caller's transaction, so it is recorded
+ * exactly when the change commits; {@link DemandOutboxRelay} then numbers it into the change
+ * feed. It is also published as an application event for low-latency listeners such as
+ * {@link MatchingEventForwarder}.
+ */
+@Component
+@RequiredArgsConstructor
+public class DemandEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final DemandOutboxRepository demandOutboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public void publish(DemandChangeType changeType, DemandDto demand) {
+        publish(DemandChangeEvent.builder()
+                .changeType(changeType)
+                .demandId(demand.getId())
+                .demand(demand)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    public void publishDeleted(String demandId) {
+        publish(DemandChangeEvent.builder()
+                .changeType(DemandChangeType.DELETED)
+                .demandId(demandId)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    private void publish(DemandChangeEvent event) {
+        demandOutboxRepository.save(DemandOutboxEntry.builder()
+                .demandId(event.getDemandId())
+                .changeType(event.getChangeType())
+                .payload(toJson(event.getDemand()))
+                .occurredAt(event.getOccurredAt())
+                .build());
+        applicationEventPublisher.publishEvent(event);
+    }
+
+    private String toJson(DemandDto demand) {
+        if (demand == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(demand);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize demand " + demand.getId(), e);
+        }
+    }
+}
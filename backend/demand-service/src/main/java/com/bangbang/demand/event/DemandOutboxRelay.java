@@ -0,0 +1,96 @@
+package com.bangbang.demand.event;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publishes committed outbox rows to the change feed by giving them consecutive sequence
+ * numbers.
+ * Numbers are handed out under the row lock of demand_outbox_sequence, so they only ever
+ * grow in the order rows become visible: a row whose transaction commits late is numbered
+ * late, and a consumer reading past a sequence number never skips it. Changes to one demand
+ * commit one after another on the demand's row lock and keep their order in the feed.
+ * Published rows are purged once older than the retention period; a consumer left behind for
+ * longer misses those changes and has to resynchronize from the demand listings.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DemandOutboxRelay {
+
+    private static final String LOCK_SEQUENCE_SQL = "SELECT next_value FROM demand_outbox_sequence WHERE id = 1 FOR UPDATE";
+
+    private static final String UNPUBLISHED_SQL =
+            "SELECT id FROM demand_outbox WHERE sequence_number IS NULL ORDER BY id LIMIT ?";
+
+    private static final String PUBLISH_SQL =
+            "UPDATE demand_outbox SET sequence_number = ?, published_at = ? WHERE id = ?";
+
+    private static final String ADVANCE_SEQUENCE_SQL = "UPDATE demand_outbox_sequence SET next_value = ? WHERE id = 1";
+
+    private static final String PURGE_SQL = "DELETE FROM demand_outbox WHERE published_at < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${demand.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${demand.outbox.retention-days:7}")
+    private int retentionDays;
+
+    @Scheduled(fixedDelayString = "${demand.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+                if (published > 0) {
+                    log.debug("Published {} demand changes", published);
+                }
+            } while (published == batchSize);
+        } catch (Exception e) {
+            log.error("Error publishing demand changes", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${demand.outbox.purge-interval-ms:3600000}",
+            fixedDelayString = "${demand.outbox.purge-interval-ms:3600000}")
+    public void purge() {
+        try {
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+            int purged;
+            do {
+                purged = jdbcTemplate.update(PURGE_SQL, cutoff, batchSize);
+            } while (purged == batchSize);
+        } catch (Exception e) {
+            log.error("Error purging published demand changes", e);
+        }
+    }
+
+    private int publishBatch() {
+        Long next = jdbcTemplate.queryForObject(LOCK_SEQUENCE_SQL, Long.class);
+        List<Long> ids = jdbcTemplate.queryForList(UNPUBLISHED_SQL, Long.class, batchSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            rows.add(new Object[]{next + i, now, ids.get(i)});
+        }
+        jdbcTemplate.batchUpdate(PUBLISH_SQL, rows);
+        jdbcTemplate.update(ADVANCE_SEQUENCE_SQL, next + ids.size());
+        return ids.size();
+    }
+}
@@ -0,0 +1,32 @@
+package com.bangbang.demand.event;
+
+import com.bangbang.demand.client.MatchingServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards committed demand changes to the matching service so it can match incrementally.
+ * Delivery is best-effort; the matching service periodically reconciles its index to
+ * repair anything that was missed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MatchingEventForwarder {
+
+    private final MatchingServiceClient matchingServiceClient;
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDemandChanged(DemandChangeEvent event) {
+        try {
+            matchingServiceClient.publishDemandEvent(event);
+        } catch (Exception e) {
+            log.warn("Failed to forward {} event for demand {} to matching service",
+                    event.getChangeType(), event.getDemandId(), e);
+        }
+    }
+}
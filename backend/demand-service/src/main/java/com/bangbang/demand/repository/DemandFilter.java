@@ -0,0 +1,20 @@
+package com.bangbang.demand.repository;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Demand search filters; null fields do not filter
+ */
+@Value
+@Builder
+public class DemandFilter {
+    String userId;
+    String originCountry;
+    String originCity;
+    String destinationCountry;
+    String destinationCity;
+    String itemType;
+    Double maxWeight;
+    String status;
+}
@@ -0,0 +1,18 @@
+package com.bangbang.demand.repository;
+
+import com.bangbang.demand.entity.DemandOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DemandOutboxRepository extends JpaRepository<DemandOutboxEntry, Long> {
+    
+    List<DemandOutboxEntry> findBySequenceGreaterThanOrderBySequenceAsc(Long afterSequence, Pageable pageable);
+    
+    @Query("SELECT COALESCE(MAX(e.sequence), 0) FROM DemandOutboxEntry e")
+    long findMaxSequence();
+}
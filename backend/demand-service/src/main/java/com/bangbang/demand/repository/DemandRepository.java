@@ -1,30 +1,27 @@
 package com.bangbang.demand.repository;
 
 import com.bangbang.demand.entity.Demand;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface DemandRepository extends JpaRepository<Demand, String> {
+public interface DemandRepository extends JpaRepository<Demand, String>, JpaSpecificationExecutor<Demand>,
+        DemandRepositoryCustom {
     List<Demand> findByUserId(String userId);
     
     List<Demand> findByStatus(String status);
     
-    @Query("SELECT d FROM Demand d WHERE d.status = 'PENDING' ORDER BY d.viewCount DESC, d.createdAt DESC")
-    List<Demand> findPopularDemands();
+    // Keyset pagination by primary key: each page starts strictly after the last id seen
+    List<Demand> findByStatusAndIdGreaterThanOrderByIdAsc(String status, String afterId, Pageable pageable);
     
-    @Query("SELECT d FROM Demand d WHERE " +
-           "(:originCountry IS NULL OR d.originCountry = :originCountry) AND " +
-           "(:originCity IS NULL OR d.originCity = :originCity) AND " +
-           "(:destinationCountry IS NULL OR d.destinationCountry = :destinationCountry) AND " +
-           "(:destinationCity IS NULL OR d.destinationCity = :destinationCity) AND " +
-           "(:itemType IS NULL OR d.itemType = :itemType) AND " +
-           "(:maxWeight IS NULL OR d.weightKg <= :maxWeight) AND " +
-           "(:status IS NULL OR d.status = :status)")
-    List<Demand> searchDemands(String originCountry, String originCity, 
-                              String destinationCountry, String destinationCity,
-                              String itemType, Double maxWeight, String status);
-} 
\ No newline at end of file
+    List<Demand> findByIdInAndStatus(Collection<String> ids, String status);
+    
+    @Query("SELECT d FROM Demand d WHERE d.status = 'PENDING' ORDER BY d.viewCount DESC, d.createdAt DESC, d.id ASC")
+    List<Demand> findPopularDemands(Pageable pageable);
+}
@@ -0,0 +1,21 @@
+package com.bangbang.demand.repository;
+
+import com.bangbang.demand.entity.Demand;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Criteria queries ordered by (createdAt, id) that Spring Data cannot express with a
+ * Specification alone: a limit without a count query, and a fetch-size bounded stream
+ */
+public interface DemandRepositoryCustom {
+
+    List<Demand> findOrderedByCreatedAt(Specification<Demand> specification, int limit);
+
+    /**
+     * Must be consumed and closed inside a transaction
+     */
+    Stream<Demand> streamOrderedByCreatedAt(Specification<Demand> specification, int fetchSize);
+}
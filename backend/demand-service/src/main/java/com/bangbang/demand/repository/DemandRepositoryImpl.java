@@ -0,0 +1,47 @@
+package com.bangbang.demand.repository;
+
+import com.bangbang.demand.entity.Demand;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * JPA Criteria implementation of {@link DemandRepositoryCustom}
+ */
+@RequiredArgsConstructor
+public class DemandRepositoryImpl implements DemandRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Demand> findOrderedByCreatedAt(Specification<Demand> specification, int limit) {
+        return orderedByCreatedAt(specification)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<Demand> streamOrderedByCreatedAt(Specification<Demand> specification, int fetchSize) {
+        return orderedByCreatedAt(specification)
+                .setHint(QueryHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    private TypedQuery<Demand> orderedByCreatedAt(Specification<Demand> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Demand> query = cb.createQuery(Demand.class);
+        Root<Demand> root = query.from(Demand.class);
+        query.select(root)
+                .where(specification.toPredicate(root, query, cb))
+                .orderBy(cb.asc(root.get("createdAt")), cb.asc(root.get("id")));
+        return entityManager.createQuery(query);
+    }
+}
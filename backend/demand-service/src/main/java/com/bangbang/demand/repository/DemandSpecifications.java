@@ -0,0 +1,55 @@
+package com.bangbang.demand.repository;
+
+import com.bangbang.demand.entity.Demand;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Demand search predicates.
+ * Only the filters that are present become predicates, so each combination of filters gets
+ * its own plain query that MySQL can serve from idx_demands_search, instead of one catch-all
+ * "(:param IS NULL OR ...)" query whose plan has to fit every combination.
+ */
+public final class DemandSpecifications {
+
+    private DemandSpecifications() {
+    }
+
+    public static Specification<Demand> matching(DemandFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            addEqual(predicates, cb, root.get("status"), filter.getStatus());
+            addEqual(predicates, cb, root.get("originCountry"), filter.getOriginCountry());
+            addEqual(predicates, cb, root.get("originCity"), filter.getOriginCity());
+            addEqual(predicates, cb, root.get("destinationCountry"), filter.getDestinationCountry());
+            addEqual(predicates, cb, root.get("destinationCity"), filter.getDestinationCity());
+            addEqual(predicates, cb, root.get("itemType"), filter.getItemType());
+            addEqual(predicates, cb, root.get("userId"), filter.getUserId());
+            if (filter.getMaxWeight() != null) {
+                predicates.add(cb.le(root.<Double>get("weightKg"), filter.getMaxWeight()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Demands strictly after the given (createdAt, id) keyset position
+     */
+    public static Specification<Demand> after(LocalDateTime createdAt, String id) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.<LocalDateTime>get("createdAt"), createdAt),
+                cb.and(cb.equal(root.get("createdAt"), createdAt), cb.greaterThan(root.<String>get("id"), id)));
+    }
+
+    private static void addEqual(List<Predicate> predicates, CriteriaBuilder cb, Path<Object> path, Object value) {
+        if (value != null) {
+            predicates.add(cb.equal(path, value));
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.bangbang.demand.service;
+
+import com.bangbang.demand.entity.Demand;
+import com.bangbang.demand.exception.InvalidCursorException;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in a (createdAt ASC, id ASC) ordered listing, exchanged with clients
+ * as an opaque string
+ */
+@Getter
+@EqualsAndHashCode
+final class DemandCursor {
+
+    // Sorts before every stored demand, and the empty string before every id
+    static final DemandCursor START = new DemandCursor(LocalDateTime.of(1970, 1, 1, 0, 0), "");
+
+    private final LocalDateTime createdAt;
+    private final String id;
+
+    DemandCursor(LocalDateTime createdAt, String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    static DemandCursor after(Demand demand) {
+        return new DemandCursor(demand.getCreatedAt(), demand.getId());
+    }
+
+    static DemandCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return START;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf('|');
+            return new DemandCursor(LocalDateTime.parse(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    String encode() {
+        String value = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -2,17 +2,42 @@ package com.bangbang.demand.service;
 
 import com.bangbang.demand.dto.CreateDemandRequest;
 import com.bangbang.demand.dto.DemandDto;
+import com.bangbang.demand.dto.DemandPage;
 import com.bangbang.demand.dto.UpdateDemandRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface DemandService {
     List<DemandDto> getAllDemands();
     
     DemandDto getDemandById(String id);
     
+    List<DemandDto> getDemandsByIds(Collection<String> ids);
+    
     List<DemandDto> getDemandsByUserId(String userId);
     
+    List<DemandDto> scanDemandsByStatus(String status, String afterId, int limit);
+    
+    /**
+     * One page of the demands matching every non-null filter, ordered by (createdAt, id).
+     * Pass the nextCursor of the previous page to continue; null starts from the beginning.
+     */
+    DemandPage searchDemandsPage(String userId, String originCountry, String originCity,
+                                 String destinationCountry, String destinationCity,
+                                 String itemType, Double maxWeight, String status,
+                                 String cursor, int limit);
+    
+    /**
+     * Feed every demand matching the non-null filters to the sink in (createdAt, id) order,
+     * holding only one fetch-size chunk in memory at a time
+     */
+    void streamDemands(String userId, String originCountry, String originCity,
+                       String destinationCountry, String destinationCity,
+                       String itemType, Double maxWeight, String status,
+                       Consumer<DemandDto> sink);
+    
     DemandDto createDemand(CreateDemandRequest request, String userId);
     
     DemandDto updateDemand(String id, UpdateDemandRequest request, String userId);
@@ -25,7 +50,15 @@ public interface DemandService {
                                  String destinationCountry, String destinationCity,
                                  String itemType, Double maxWeight, String status);
     
-    List<DemandDto> getPopularDemands();
+    /**
+     * One page of the popular demands leaderboard, most viewed first.
+     * Without a size the whole leaderboard is returned.
+     */
+    List<DemandDto> getPopularDemands(int page, Integer size);
     
+    /**
+     * Get a demand and count one view of it. The view is buffered and written later,
+     * so this does not write the demand row.
+     */
     DemandDto incrementViewCount(String id);
 } 
\ No newline at end of file
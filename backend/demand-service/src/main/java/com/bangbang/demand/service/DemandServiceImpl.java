@@ -2,27 +2,45 @@ package com.bangbang.demand.service;
 
 import com.bangbang.demand.dto.CreateDemandRequest;
 import com.bangbang.demand.dto.DemandDto;
+import com.bangbang.demand.dto.DemandPage;
 import com.bangbang.demand.dto.UpdateDemandRequest;
 import com.bangbang.demand.entity.Demand;
+import com.bangbang.demand.event.DemandChangeType;
+import com.bangbang.demand.event.DemandEventPublisher;
 import com.bangbang.demand.exception.ResourceNotFoundException;
 import com.bangbang.demand.exception.UnauthorizedException;
 import com.bangbang.demand.mapper.DemandMapper;
+import com.bangbang.demand.repository.DemandFilter;
 import com.bangbang.demand.repository.DemandRepository;
+import com.bangbang.demand.repository.DemandSpecifications;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class DemandServiceImpl implements DemandService {
     
+    private static final int MAX_SCAN_PAGE_SIZE = 1000;
+    private static final int STREAM_FETCH_SIZE = 500;
+    
     private final DemandRepository demandRepository;
     private final DemandMapper demandMapper;
+    private final DemandEventPublisher demandEventPublisher;
+    private final ViewCountBuffer viewCountBuffer;
+    private final PopularDemandBoard popularDemandBoard;
+    private final EntityManager entityManager;
     
     @Override
     public List<DemandDto> getAllDemands() {
@@ -40,6 +58,20 @@ public class DemandServiceImpl implements DemandService {
         return demandMapper.entityToDto(demand);
     }
     
+    @Override
+    public List<DemandDto> getDemandsByIds(Collection<String> ids) {
+        log.info("Fetching {} demands by id", ids.size());
+        // Unknown ids are skipped so one bad id does not fail the whole batch
+        List<String> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        return demandRepository.findAllById(distinctIds)
+                .stream()
+                .map(demandMapper::entityToDto)
+                .collect(Collectors.toList());
+    }
+    
     @Override
     public List<DemandDto> getDemandsByUserId(String userId) {
         log.info("Fetching demands for user: {}", userId);
@@ -49,6 +81,57 @@ public class DemandServiceImpl implements DemandService {
                 .collect(Collectors.toList());
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<DemandDto> scanDemandsByStatus(String status, String afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SCAN_PAGE_SIZE));
+        return demandRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                        status, afterId == null ? "" : afterId, PageRequest.of(0, pageSize))
+                .stream()
+                .map(demandMapper::entityToDto)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public DemandPage searchDemandsPage(String userId, String originCountry, String originCity,
+                                        String destinationCountry, String destinationCity,
+                                        String itemType, Double maxWeight, String status,
+                                        String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_SCAN_PAGE_SIZE));
+        DemandCursor position = DemandCursor.decode(cursor);
+        DemandFilter filter = filterOf(
+                userId, originCountry, originCity, destinationCountry, destinationCity, itemType, maxWeight, status);
+        List<Demand> demands = demandRepository.findOrderedByCreatedAt(
+                DemandSpecifications.matching(filter).and(DemandSpecifications.after(position.getCreatedAt(), position.getId())),
+                pageSize + 1);
+        
+        boolean hasMore = demands.size() > pageSize;
+        List<Demand> page = hasMore ? demands.subList(0, pageSize) : demands;
+        return DemandPage.builder()
+                .items(page.stream().map(demandMapper::entityToDto).collect(Collectors.toList()))
+                .nextCursor(hasMore ? DemandCursor.after(page.get(page.size() - 1)).encode() : null)
+                .build();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamDemands(String userId, String originCountry, String originCity,
+                              String destinationCountry, String destinationCity,
+                              String itemType, Double maxWeight, String status,
+                              Consumer<DemandDto> sink) {
+        DemandFilter filter = filterOf(
+                userId, originCountry, originCity, destinationCountry, destinationCity, itemType, maxWeight, status);
+        try (Stream<Demand> demands = demandRepository.streamOrderedByCreatedAt(
+                DemandSpecifications.matching(filter), STREAM_FETCH_SIZE)) {
+            demands.forEach(demand -> {
+                sink.accept(demandMapper.entityToDto(demand));
+                // Keep the persistence context from growing with the table
+                entityManager.detach(demand);
+            });
+        }
+    }
+    
     @Override
     @Transactional
     public DemandDto createDemand(CreateDemandRequest request, String userId) {
@@ -60,7 +143,9 @@ public class DemandServiceImpl implements DemandService {
         Demand savedDemand = demandRepository.save(demand);
         log.info("Demand created with id: {}", savedDemand.getId());
         
-        return demandMapper.entityToDto(savedDemand);
+        DemandDto demandDto = demandMapper.entityToDto(savedDemand);
+        demandEventPublisher.publish(DemandChangeType.CREATED, demandDto);
+        return demandDto;
     }
     
     @Override
@@ -83,7 +168,9 @@ public class DemandServiceImpl implements DemandService {
         demandMapper.updateEntityFromRequest(request, demand);
         Demand updatedDemand = demandRepository.save(demand);
         
-        return demandMapper.entityToDto(updatedDemand);
+        DemandDto demandDto = demandMapper.entityToDto(updatedDemand);
+        demandEventPublisher.publish(DemandChangeType.UPDATED, demandDto);
+        return demandDto;
     }
     
     @Override
@@ -104,6 +191,7 @@ public class DemandServiceImpl implements DemandService {
         }
         
         demandRepository.deleteById(id);
+        demandEventPublisher.publishDeleted(id);
         log.info("Demand with id: {} deleted successfully", id);
     }
     
@@ -127,7 +215,9 @@ public class DemandServiceImpl implements DemandService {
         demand.setStatus("CANCELLED");
         Demand updatedDemand = demandRepository.save(demand);
         
-        return demandMapper.entityToDto(updatedDemand);
+        DemandDto demandDto = demandMapper.entityToDto(updatedDemand);
+        demandEventPublisher.publish(DemandChangeType.STATUS_CHANGED, demandDto);
+        return demandDto;
     }
     
     @Override
@@ -136,33 +226,45 @@ public class DemandServiceImpl implements DemandService {
                                       String itemType, Double maxWeight, String status) {
         log.info("Searching for demands with filters");
         
-        return demandRepository.searchDemands(
-                originCountry, originCity, destinationCountry, destinationCity, itemType, maxWeight, status)
+        DemandFilter filter = filterOf(
+                null, originCountry, originCity, destinationCountry, destinationCity, itemType, maxWeight, status);
+        return demandRepository.findAll(DemandSpecifications.matching(filter))
                 .stream()
                 .map(demandMapper::entityToDto)
                 .collect(Collectors.toList());
     }
     
     @Override
-    public List<DemandDto> getPopularDemands() {
-        log.info("Fetching popular demands");
-        
-        return demandRepository.findPopularDemands()
-                .stream()
-                .map(demandMapper::entityToDto)
-                .collect(Collectors.toList());
+    public List<DemandDto> getPopularDemands(int page, Integer size) {
+        log.info("Fetching popular demands, page {}", page);
+        return popularDemandBoard.page(page, size != null ? size : popularDemandBoard.size());
     }
     
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public DemandDto incrementViewCount(String id) {
-        log.info("Incrementing view count for demand: {}", id);
-        
         Demand demand = findDemandById(id);
-        demand.setViewCount(demand.getViewCount() + 1);
-        Demand updatedDemand = demandRepository.save(demand);
+        viewCountBuffer.record(id);
         
-        return demandMapper.entityToDto(updatedDemand);
+        // Include the views still waiting to be flushed
+        DemandDto demandDto = demandMapper.entityToDto(demand);
+        demandDto.setViewCount((int) (demand.getViewCount() + viewCountBuffer.pending(id)));
+        return demandDto;
+    }
+    
+    private static DemandFilter filterOf(String userId, String originCountry, String originCity,
+                                         String destinationCountry, String destinationCity,
+                                         String itemType, Double maxWeight, String status) {
+        return DemandFilter.builder()
+                .userId(userId)
+                .originCountry(originCountry)
+                .originCity(originCity)
+                .destinationCountry(destinationCountry)
+                .destinationCity(destinationCity)
+                .itemType(itemType)
+                .maxWeight(maxWeight)
+                .status(status)
+                .build();
     }
     
     private Demand findDemandById(String id) {
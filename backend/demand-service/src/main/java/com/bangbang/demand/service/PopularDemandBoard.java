@@ -0,0 +1,226 @@
+package com.bangbang.demand.service;
+
+import com.bangbang.demand.dto.DemandDto;
+import com.bangbang.demand.event.DemandChangeEvent;
+import com.bangbang.demand.event.DemandChangeType;
+import com.bangbang.demand.mapper.DemandMapper;
+import com.bangbang.demand.repository.DemandRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory leaderboard of the most viewed PENDING demands.
+ * Holds the top {@code demand.popular.size} demands ordered by view count, newest first on
+ * ties. It is kept current incrementally: view-count flushes re-rank the demands that were
+ * viewed, and demand events add, refresh or drop entries. Only when an entry drops out is
+ * the board refilled from the database, since the next best demand is unknown; that refill
+ * runs in the background, off the request that changed the demand. A periodic refill also
+ * picks up views flushed by other instances. Views flushed while a refill reads the database
+ * are applied again on top of the refilled board, so they are never lost; one that committed
+ * before the read is counted twice until the next refill. Readers get an immutable snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PopularDemandBoard {
+
+    private static final String PENDING = "PENDING";
+
+    private static final Comparator<DemandDto> MOST_VIEWED = Comparator
+            .comparing((DemandDto demand) -> demand.getViewCount() == null ? 0 : demand.getViewCount(), Comparator.reverseOrder())
+            .thenComparing(DemandDto::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(DemandDto::getId);
+
+    private final DemandRepository demandRepository;
+    private final DemandMapper demandMapper;
+
+    @Value("${demand.popular.size:100}")
+    private int size;
+
+    // Guarded by this
+    private final TreeSet<DemandDto> ranking = new TreeSet<>(MOST_VIEWED);
+    private final Map<String, DemandDto> entries = new HashMap<>();
+
+    // Increments flushed since the running refill started; null outside a refill. Guarded by this.
+    private Map<String, Long> flushedDuringRefill;
+
+    // Serializes refills, so each one records the increments flushed while it runs
+    private final Object refillLock = new Object();
+
+    private volatile List<DemandDto> snapshot = Collections.emptyList();
+
+    private final AtomicBoolean refillQueued = new AtomicBoolean();
+    private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "popular-demand-refill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * One page of the leaderboard, most viewed first
+     */
+    public List<DemandDto> page(int page, int pageSize) {
+        List<DemandDto> current = snapshot;
+        int from = Math.max(0, page) * Math.max(1, pageSize);
+        if (from >= current.size()) {
+            return Collections.emptyList();
+        }
+        return current.subList(from, Math.min(current.size(), from + Math.max(1, pageSize)));
+    }
+
+    public int size() {
+        return snapshot.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${demand.popular.refill-interval-ms:600000}",
+            fixedDelayString = "${demand.popular.refill-interval-ms:600000}")
+    public void refill() {
+        synchronized (refillLock) {
+            synchronized (this) {
+                flushedDuringRefill = new HashMap<>();
+            }
+            List<DemandDto> top;
+            try {
+                top = demandRepository.findPopularDemands(PageRequest.of(0, size)).stream()
+                        .map(demandMapper::entityToDto)
+                        .collect(Collectors.toList());
+            } catch (Exception e) {
+                // Keep serving the current board until a refill succeeds
+                log.error("Error refilling popular demands", e);
+                synchronized (this) {
+                    flushedDuringRefill = null;
+                }
+                return;
+            }
+            synchronized (this) {
+                Map<String, Long> missed = flushedDuringRefill;
+                flushedDuringRefill = null;
+                ranking.clear();
+                entries.clear();
+                top.forEach(this::place);
+                applyIncrements(missed);
+                publish();
+            }
+        }
+    }
+
+    /**
+     * Re-rank demands whose views were just flushed. Entries on the board take the increment
+     * directly; the others are read back and enter if they now rank high enough.
+     */
+    public synchronized void onViewsFlushed(Map<String, Long> increments) {
+        if (flushedDuringRefill != null) {
+            increments.forEach((id, views) -> flushedDuringRefill.merge(id, views, Long::sum));
+        }
+        applyIncrements(increments);
+        publish();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDemandChanged(DemandChangeEvent event) {
+        DemandDto demand = event.getDemand();
+        if (event.getChangeType() == DemandChangeType.DELETED || !PENDING.equals(demand.getStatus())) {
+            if (remove(event.getDemandId()) != null) {
+                publish();
+                // The demand that now moves up is not on the board
+                requestRefill();
+            }
+            return;
+        }
+        DemandDto current = remove(demand.getId());
+        if (current != null && (demand.getViewCount() == null || current.getViewCount() > demand.getViewCount())) {
+            // Views flushed after the event snapshot was read
+            demand = demand.toBuilder().viewCount(current.getViewCount()).build();
+        }
+        offer(demand);
+        publish();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+    }
+
+    /**
+     * Queue a background refill; requests made while one is already queued share it
+     */
+    private void requestRefill() {
+        if (refillQueued.compareAndSet(false, true)) {
+            refillExecutor.execute(() -> {
+                refillQueued.set(false);
+                refill();
+            });
+        }
+    }
+
+    private void applyIncrements(Map<String, Long> increments) {
+        List<String> outsiders = new ArrayList<>();
+        increments.forEach((id, views) -> {
+            DemandDto entry = entries.get(id);
+            if (entry == null) {
+                outsiders.add(id);
+            } else {
+                remove(id);
+                place(entry.toBuilder().viewCount((int) (entry.getViewCount() + views)).build());
+            }
+        });
+        if (!outsiders.isEmpty()) {
+            demandRepository.findByIdInAndStatus(outsiders, PENDING).stream()
+                    .map(demandMapper::entityToDto)
+                    .forEach(this::offer);
+        }
+    }
+
+    private void offer(DemandDto demand) {
+        if (entries.containsKey(demand.getId())) {
+            return;
+        }
+        if (ranking.size() < size) {
+            place(demand);
+        } else if (MOST_VIEWED.compare(demand, ranking.last()) < 0) {
+            remove(ranking.last().getId());
+            place(demand);
+        }
+    }
+
+    private void place(DemandDto demand) {
+        if (demand.getViewCount() == null) {
+            demand = demand.toBuilder().viewCount(0).build();
+        }
+        ranking.add(demand);
+        entries.put(demand.getId(), demand);
+    }
+
+    private DemandDto remove(String id) {
+        DemandDto entry = entries.remove(id);
+        if (entry != null) {
+            ranking.remove(entry);
+        }
+        return entry;
+    }
+
+    private void publish() {
+        snapshot = Collections.unmodifiableList(new ArrayList<>(ranking));
+    }
+}
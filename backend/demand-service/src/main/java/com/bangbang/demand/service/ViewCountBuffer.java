@@ -0,0 +1,94 @@
+package com.bangbang.demand.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind buffer for demand view counts.
+ * Views are counted in memory, one striped counter per demand, and periodically added to
+ * view_count with batched UPDATEs in one transaction, so viewing a demand never writes its
+ * row and a failed flush applies nothing and is retried whole. A view recorded while its
+ * counter is being dropped after a flush may be lost, and counts still buffered when an
+ * instance dies are lost; view counts are a popularity signal, not a ledger.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ViewCountBuffer {
+
+    private static final String FLUSH_SQL = "UPDATE demands SET view_count = view_count + ? WHERE id = ?";
+
+    private static final int ROWS_PER_BATCH = 500;
+
+    private final Map<String, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PopularDemandBoard popularDemandBoard;
+
+    public void record(String demandId) {
+        pendingViews.computeIfAbsent(demandId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Views recorded for the demand but not yet flushed
+     */
+    public long pending(String demandId) {
+        LongAdder views = pendingViews.get(demandId);
+        return views == null ? 0 : views.sum();
+    }
+
+    @Scheduled(initialDelayString = "${demand.view-count.flush-interval-ms:5000}",
+            fixedDelayString = "${demand.view-count.flush-interval-ms:5000}")
+    public void flush() {
+        List<Object[]> increments = new ArrayList<>();
+        for (Map.Entry<String, LongAdder> entry : pendingViews.entrySet()) {
+            long views = entry.getValue().sumThenReset();
+            if (views > 0) {
+                increments.add(new Object[]{views, entry.getKey()});
+            } else {
+                // Idle since the last flush
+                pendingViews.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        if (increments.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int from = 0; from < increments.size(); from += ROWS_PER_BATCH) {
+                    jdbcTemplate.batchUpdate(FLUSH_SQL, increments.subList(from, Math.min(increments.size(), from + ROWS_PER_BATCH)));
+                }
+            });
+            log.debug("Flushed view counts of {} demands", increments.size());
+        } catch (Exception e) {
+            // Nothing was applied; put the views back so the next flush retries them
+            log.warn("Failed to flush view counts of {} demands", increments.size(), e);
+            increments.forEach(row -> pendingViews.computeIfAbsent((String) row[1], id -> new LongAdder()).add((Long) row[0]));
+            return;
+        }
+        try {
+            popularDemandBoard.onViewsFlushed(increments.stream()
+                    .collect(Collectors.toMap(row -> (String) row[1], row -> (Long) row[0])));
+        } catch (Exception e) {
+            log.warn("Failed to re-rank popular demands after flushing views", e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
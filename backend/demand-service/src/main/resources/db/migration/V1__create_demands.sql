@@ -0,0 +1,21 @@
+-- Schema as previously created by Hibernate; existing databases are baselined at this version
+CREATE TABLE IF NOT EXISTS demands (
+    id                  VARCHAR(255)   NOT NULL,
+    user_id             VARCHAR(255)   NOT NULL,
+    title               VARCHAR(100)   NOT NULL,
+    description         VARCHAR(500),
+    item_type           VARCHAR(50)    NOT NULL,
+    weight_kg           DOUBLE         NOT NULL,
+    estimated_value     DECIMAL(19, 2),
+    origin_country      VARCHAR(50)    NOT NULL,
+    origin_city         VARCHAR(50)    NOT NULL,
+    destination_country VARCHAR(50)    NOT NULL,
+    destination_city    VARCHAR(50)    NOT NULL,
+    deadline            DATE           NOT NULL,
+    reward_amount       DECIMAL(19, 2),
+    status              VARCHAR(20)    NOT NULL,
+    view_count          INT            DEFAULT 0,
+    created_at          DATETIME(6),
+    updated_at          DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
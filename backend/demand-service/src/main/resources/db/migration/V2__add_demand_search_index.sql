@@ -0,0 +1,3 @@
+-- Serves the corridor searches: status alone (index loading), then narrowing by route and deadline
+CREATE INDEX idx_demands_search
+    ON demands (status, origin_country, origin_city, destination_country, destination_city, deadline);
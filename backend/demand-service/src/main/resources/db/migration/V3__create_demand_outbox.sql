@@ -0,0 +1,24 @@
+-- Demand changes written in the same transaction as the change itself; the relay numbers
+-- them in publication order
+CREATE TABLE demand_outbox (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    demand_id       VARCHAR(255) NOT NULL,
+    change_type     VARCHAR(20)  NOT NULL,
+    payload         TEXT,
+    occurred_at     DATETIME(6)  NOT NULL,
+    sequence_number BIGINT,
+    published_at    DATETIME(6),
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_demand_outbox_sequence (sequence_number),
+    INDEX idx_demand_outbox_published_at (published_at)
+) ENGINE = InnoDB;
+
+-- Next sequence number to hand out. Its row lock also keeps relays on different instances
+-- from numbering at the same time.
+CREATE TABLE demand_outbox_sequence (
+    id         INT    NOT NULL,
+    next_value BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO demand_outbox_sequence (id, next_value) VALUES (1, 1);
@@ -0,0 +1,3 @@
+-- Serves the cursor-paginated listings, which walk demands by (created_at, id)
+CREATE INDEX idx_demands_created_at_id
+    ON demands (created_at, id);
@@ -0,0 +1,93 @@
+package com.bangbang.demand.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class DemandOutboxRelayTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private DemandOutboxRelay demandOutboxRelay;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> rowsCaptor;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(demandOutboxRelay, "batchSize", 3);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void relay_NumbersRowsConsecutivelyAcrossIdGaps() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(10L);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any())).thenReturn(List.of(3L, 7L));
+
+        demandOutboxRelay.relay();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), rowsCaptor.capture());
+        List<Object[]> rows = rowsCaptor.getValue();
+        assertEquals(2, rows.size());
+        assertEquals(10L, rows.get(0)[0]);
+        assertEquals(3L, rows.get(0)[2]);
+        assertEquals(11L, rows.get(1)[0]);
+        assertEquals(7L, rows.get(1)[2]);
+        verify(jdbcTemplate).update(anyString(), eq(12L));
+    }
+
+    @Test
+    void relay_ContinuesSequenceInNextBatch() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(10L, 13L);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any()))
+                .thenReturn(List.of(3L, 7L, 8L), List.of(20L));
+
+        demandOutboxRelay.relay();
+
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), rowsCaptor.capture());
+        List<Object[]> second = rowsCaptor.getAllValues().get(1);
+        assertEquals(13L, second.get(0)[0]);
+        assertEquals(20L, second.get(0)[2]);
+        verify(jdbcTemplate).update(anyString(), eq(13L));
+        verify(jdbcTemplate).update(anyString(), eq(14L));
+        verify(jdbcTemplate, times(2)).queryForList(anyString(), eq(Long.class), any());
+    }
+
+    @Test
+    void relay_LeavesSequenceAloneWithoutUnpublishedRows() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(10L);
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), any())).thenReturn(Collections.emptyList());
+
+        demandOutboxRelay.relay();
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(jdbcTemplate, never()).update(anyString(), anyLong());
+    }
+}
@@ -0,0 +1,128 @@
+package com.bangbang.demand.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.bangbang.demand.entity.Demand;
+
+@ExtendWith(MockitoExtension.class)
+public class DemandSpecificationsTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 5, 1, 10, 30);
+
+    @Mock
+    private Root<Demand> root;
+
+    @Mock
+    private CriteriaQuery<?> query;
+
+    @Mock
+    private CriteriaBuilder cb;
+
+    private final Map<String, Path<Object>> paths = new HashMap<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        lenient().when(root.get(anyString())).thenAnswer(invocation ->
+                paths.computeIfAbsent(invocation.getArgument(0), attribute -> mock(Path.class)));
+    }
+
+    @Test
+    void matching_AddsNoPredicatesWithoutFilters() {
+        Predicate all = mock(Predicate.class);
+        when(cb.and()).thenReturn(all);
+
+        Predicate predicate = DemandSpecifications.matching(DemandFilter.builder().build()).toPredicate(root, query, cb);
+
+        assertSame(all, predicate);
+        verify(cb, never()).equal(any(), any(Object.class));
+        verify(cb, never()).le(any(), any(Number.class));
+    }
+
+    @Test
+    void matching_OnlyFiltersOnPresentFields() {
+        Predicate origin = mock(Predicate.class);
+        Predicate weight = mock(Predicate.class);
+        Predicate both = mock(Predicate.class);
+        DemandFilter filter = DemandFilter.builder().originCity("Shanghai").maxWeight(5.0).build();
+        when(cb.equal(any(), any(Object.class))).thenReturn(origin);
+        when(cb.le(any(), any(Number.class))).thenReturn(weight);
+        when(cb.and(new Predicate[]{origin, weight})).thenReturn(both);
+
+        Predicate predicate = DemandSpecifications.matching(filter).toPredicate(root, query, cb);
+
+        assertSame(both, predicate);
+        verify(cb).equal(paths.get("originCity"), "Shanghai");
+        verify(cb, times(1)).equal(any(), any(Object.class));
+        verify(cb).le(any(), eq(5.0));
+    }
+
+    @Test
+    void after_BreaksCreatedAtTiesById() {
+        Predicate after = stubKeysetPosition();
+
+        Predicate predicate = DemandSpecifications.after(CREATED_AT, "d1").toPredicate(root, query, cb);
+
+        assertSame(after, predicate);
+        verify(cb).greaterThan(this.<LocalDateTime>path("createdAt"), CREATED_AT);
+        verify(cb).equal(paths.get("createdAt"), CREATED_AT);
+        verify(cb).greaterThan(this.<String>path("id"), "d1");
+    }
+
+    @Test
+    void matching_ComposesWithKeysetPositionWithoutFilters() {
+        Predicate all = mock(Predicate.class);
+        Predicate page = mock(Predicate.class);
+        Predicate after = stubKeysetPosition();
+        when(cb.and()).thenReturn(all);
+        when(cb.and(all, after)).thenReturn(page);
+
+        Specification<Demand> specification = DemandSpecifications.matching(DemandFilter.builder().build())
+                .and(DemandSpecifications.after(CREATED_AT, "d1"));
+
+        assertSame(page, specification.toPredicate(root, query, cb));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Path<T> path(String attribute) {
+        return (Path<T>) (Path<?>) paths.get(attribute);
+    }
+
+    /**
+     * Stub createdAt > t OR (createdAt = t AND id > "d1") and return the resulting predicate
+     */
+    private Predicate stubKeysetPosition() {
+        Predicate later = mock(Predicate.class);
+        Predicate sameInstant = mock(Predicate.class);
+        Predicate higherId = mock(Predicate.class);
+        Predicate tie = mock(Predicate.class);
+        Predicate after = mock(Predicate.class);
+        doReturn(later).when(cb).greaterThan(any(), eq(CREATED_AT));
+        doReturn(higherId).when(cb).greaterThan(any(), eq("d1"));
+        when(cb.equal(any(), eq(CREATED_AT))).thenReturn(sameInstant);
+        when(cb.and(sameInstant, higherId)).thenReturn(tie);
+        when(cb.or(later, tie)).thenReturn(after);
+        return after;
+    }
+}
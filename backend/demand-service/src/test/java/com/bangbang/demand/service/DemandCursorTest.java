@@ -0,0 +1,60 @@
+package com.bangbang.demand.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.bangbang.demand.entity.Demand;
+import com.bangbang.demand.exception.InvalidCursorException;
+
+public class DemandCursorTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 5, 1, 10, 30, 15, 123000000);
+
+    @Test
+    void encode_RoundTripsThroughDecode() {
+        DemandCursor cursor = new DemandCursor(CREATED_AT, "4f1c2d9e-0b7a-4c55-9d61-3a2e8f0b6c11");
+
+        assertEquals(cursor, DemandCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void encode_KeepsSeparatorInsideId() {
+        DemandCursor cursor = new DemandCursor(CREATED_AT, "legacy|id");
+
+        DemandCursor decoded = DemandCursor.decode(cursor.encode());
+
+        assertEquals(CREATED_AT, decoded.getCreatedAt());
+        assertEquals("legacy|id", decoded.getId());
+    }
+
+    @Test
+    void after_TellsApartDemandsCreatedAtSameInstant() {
+        Demand first = Demand.builder().id("a").createdAt(CREATED_AT).build();
+        Demand second = Demand.builder().id("b").createdAt(CREATED_AT).build();
+
+        DemandCursor afterFirst = DemandCursor.decode(DemandCursor.after(first).encode());
+        DemandCursor afterSecond = DemandCursor.decode(DemandCursor.after(second).encode());
+
+        assertEquals(afterFirst.getCreatedAt(), afterSecond.getCreatedAt());
+        assertEquals("a", afterFirst.getId());
+        assertEquals("b", afterSecond.getId());
+        assertNotEquals(afterFirst.encode(), afterSecond.encode());
+    }
+
+    @Test
+    void decode_StartsBeforeEveryDemandWithoutCursor() {
+        assertSame(DemandCursor.START, DemandCursor.decode(null));
+        assertSame(DemandCursor.START, DemandCursor.decode(""));
+        assertTrue(DemandCursor.START.getCreatedAt().isBefore(CREATED_AT));
+        assertTrue(DemandCursor.START.getId().compareTo("0") < 0);
+    }
+
+    @Test
+    void decode_RejectsMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> DemandCursor.decode("not a cursor"));
+        assertThrows(InvalidCursorException.class, () -> DemandCursor.decode("bm8tc2VwYXJhdG9y"));
+    }
+}
@@ -0,0 +1,88 @@
+package com.bangbang.demand.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.bangbang.demand.dto.DemandDto;
+import com.bangbang.demand.entity.Demand;
+import com.bangbang.demand.mapper.DemandMapper;
+import com.bangbang.demand.repository.DemandRepository;
+
+@ExtendWith(MockitoExtension.class)
+public class PopularDemandBoardTest {
+
+    @Mock
+    private DemandRepository demandRepository;
+
+    @Mock
+    private DemandMapper demandMapper;
+
+    @InjectMocks
+    private PopularDemandBoard popularDemandBoard;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(popularDemandBoard, "size", 10);
+        lenient().when(demandMapper.entityToDto(any())).thenAnswer(invocation -> {
+            Demand demand = invocation.getArgument(0);
+            return DemandDto.builder()
+                    .id(demand.getId())
+                    .status(demand.getStatus())
+                    .viewCount(demand.getViewCount())
+                    .createdAt(demand.getCreatedAt())
+                    .build();
+        });
+    }
+
+    @Test
+    void refill_KeepsViewsFlushedWhileReading() {
+        when(demandRepository.findPopularDemands(any())).thenAnswer(invocation -> {
+            // Flushed by another thread after the query read its rows
+            popularDemandBoard.onViewsFlushed(Map.of("d1", 5L));
+            return List.of(demand("d1", 10), demand("d2", 12));
+        });
+
+        popularDemandBoard.refill();
+
+        List<DemandDto> page = popularDemandBoard.page(0, 10);
+        assertEquals(List.of("d1", "d2"), List.of(page.get(0).getId(), page.get(1).getId()));
+        assertEquals(15, page.get(0).getViewCount());
+    }
+
+    @Test
+    void refill_KeepsCurrentBoardWhenQueryFails() {
+        when(demandRepository.findPopularDemands(any()))
+                .thenReturn(List.of(demand("d1", 10)))
+                .thenThrow(new QueryTimeoutException("Query timed out"));
+        popularDemandBoard.refill();
+
+        popularDemandBoard.refill();
+        popularDemandBoard.onViewsFlushed(Map.of("d1", 1L));
+
+        assertEquals(1, popularDemandBoard.size());
+        assertEquals(11, popularDemandBoard.page(0, 10).get(0).getViewCount());
+    }
+
+    private Demand demand(String id, int viewCount) {
+        return Demand.builder()
+                .id(id)
+                .status("PENDING")
+                .viewCount(viewCount)
+                .createdAt(LocalDateTime.of(2026, 5, 1, 10, 0))
+                .build();
+    }
+}
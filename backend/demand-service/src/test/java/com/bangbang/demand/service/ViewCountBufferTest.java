@@ -0,0 +1,109 @@
+package com.bangbang.demand.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class ViewCountBufferTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private PopularDemandBoard popularDemandBoard;
+
+    @InjectMocks
+    private ViewCountBuffer viewCountBuffer;
+
+    @Captor
+    private ArgumentCaptor<List<Object[]>> rowsCaptor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    void flush_AddsBufferedViewsAndReRanksBoard() {
+        viewCountBuffer.record("d1");
+        viewCountBuffer.record("d1");
+        viewCountBuffer.record("d2");
+
+        viewCountBuffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), rowsCaptor.capture());
+        assertEquals(2, rowsCaptor.getValue().size());
+        verify(popularDemandBoard).onViewsFlushed(Map.of("d1", 2L, "d2", 1L));
+        assertEquals(0, viewCountBuffer.pending("d1"));
+        assertEquals(0, viewCountBuffer.pending("d2"));
+    }
+
+    @Test
+    void flush_KeepsViewsForNextFlushWhenUpdateFails() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("Lock wait timeout exceeded"))
+                .thenReturn(new int[]{1});
+        viewCountBuffer.record("d1");
+        viewCountBuffer.record("d1");
+
+        viewCountBuffer.flush();
+
+        assertEquals(2, viewCountBuffer.pending("d1"));
+        verifyNoInteractions(popularDemandBoard);
+
+        viewCountBuffer.record("d1");
+        viewCountBuffer.flush();
+
+        verify(popularDemandBoard).onViewsFlushed(Map.of("d1", 3L));
+        assertEquals(0, viewCountBuffer.pending("d1"));
+    }
+
+    @Test
+    void flush_SkipsDatabaseWithoutNewViews() {
+        viewCountBuffer.record("d1");
+        viewCountBuffer.flush();
+        clearInvocations(jdbcTemplate, transactionTemplate, popularDemandBoard);
+
+        viewCountBuffer.flush();
+
+        verifyNoInteractions(jdbcTemplate, transactionTemplate, popularDemandBoard);
+    }
+
+    @Test
+    void flush_KeepsFlushedViewsWhenBoardFails() {
+        doThrow(new IllegalStateException("board unavailable")).when(popularDemandBoard).onViewsFlushed(any());
+        viewCountBuffer.record("d1");
+
+        viewCountBuffer.flush();
+
+        verify(jdbcTemplate).batchUpdate(anyString(), anyList());
+        assertEquals(0, viewCountBuffer.pending("d1"));
+    }
+}
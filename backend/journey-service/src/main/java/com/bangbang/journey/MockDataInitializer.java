@@ -1,5 +1,6 @@
 package com.bangbang.journey;
 
+import com.bangbang.common.core.model.ItemType;
 import com.bangbang.journey.model.Journey;
 import com.bangbang.journey.model.JourneyStatus;
 import com.bangbang.journey.repository.JourneyRepository;
@@ -13,7 +14,6 @@ import org.springframework.stereotype.Component;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -53,7 +53,7 @@ public class MockDataInitializer implements ApplicationRunner {
                 .availableWeight(20.0)
                 .availableVolume(15.0)
                 .notes("Direct flight. Can carry electronics and small items.")
-                .preferredItemTypes(new HashSet<>(Set.of("Electronics", "Documents", "Clothing")))
+                .preferredItemTypeMask(ItemType.maskOf(Set.of("Electronics", "Documents", "Clothing")))
                 .status(JourneyStatus.ACTIVE)
                 .createdAt(LocalDateTime.now().minusDays(5))
                 .updatedAt(LocalDateTime.now().minusDays(5))
@@ -71,7 +71,7 @@ public class MockDataInitializer implements ApplicationRunner {
                 .availableWeight(8.0)
                 .availableVolume(10.0)
                 .notes("Train journey. No liquids or fragile items please.")
-                .preferredItemTypes(new HashSet<>(Set.of("Books", "Clothing", "Food")))
+                .preferredItemTypeMask(ItemType.maskOf(Set.of("Books", "Clothing", "Food")))
                 .status(JourneyStatus.ACTIVE)
                 .createdAt(LocalDateTime.now().minusDays(3))
                 .updatedAt(LocalDateTime.now().minusDays(3))
@@ -89,7 +89,7 @@ public class MockDataInitializer implements ApplicationRunner {
                 .availableWeight(5.0)
                 .availableVolume(7.0)
                 .notes("Short flight. Can carry small electronics or cosmetics.")
-                .preferredItemTypes(new HashSet<>(Set.of("Electronics", "Cosmetics")))
+                .preferredItemTypeMask(ItemType.maskOf(Set.of("Electronics", "Cosmetics")))
                 .status(JourneyStatus.ACTIVE)
                 .createdAt(LocalDateTime.now().minusDays(10))
                 .updatedAt(LocalDateTime.now().minusDays(10))
@@ -107,7 +107,7 @@ public class MockDataInitializer implements ApplicationRunner {
                 .availableWeight(15.0)
                 .availableVolume(12.0)
                 .notes("Direct flight. Can carry various items including electronics.")
-                .preferredItemTypes(new HashSet<>(Set.of("Electronics", "Clothing", "Accessories")))
+                .preferredItemTypeMask(ItemType.maskOf(Set.of("Electronics", "Clothing", "Accessories")))
                 .status(JourneyStatus.ACTIVE)
                 .createdAt(LocalDateTime.now().minusDays(2))
                 .updatedAt(LocalDateTime.now().minusDays(2))
@@ -125,7 +125,7 @@ public class MockDataInitializer implements ApplicationRunner {
                 .availableWeight(10.0)
                 .availableVolume(8.0)
                 .notes("Completed journey. Successfully delivered all items.")
-                .preferredItemTypes(new HashSet<>(Set.of("Food", "Clothing")))
+                .preferredItemTypeMask(ItemType.maskOf(Set.of("Food", "Clothing")))
                 .status(JourneyStatus.COMPLETED)
                 .createdAt(LocalDateTime.now().minusDays(30))
                 .updatedAt(LocalDateTime.now().minusDays(14))
@@ -0,0 +1,21 @@
+package com.bangbang.journey.client;
+
+import com.bangbang.journey.event.JourneyChangeEvent;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * Feign client for Matching Service
+ */
+@FeignClient(name = "matching-service")
+public interface MatchingServiceClient {
+    
+    /**
+     * Notify the matching service of a committed journey change
+     * 
+     * @param event the change event
+     */
+    @PostMapping("/api/v1/matches/events/journeys")
+    void publishJourneyEvent(@RequestBody JourneyChangeEvent event);
+}
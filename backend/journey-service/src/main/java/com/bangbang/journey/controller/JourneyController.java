@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 import javax.validation.Valid;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/journeys")
@@ -35,6 +36,11 @@ public class JourneyController {
         return ResponseEntity.ok(journeyService.getJourneyById(id));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<JourneyResponse>> getJourneysByIds(@RequestBody Set<Long> ids) {
+        return ResponseEntity.ok(journeyService.getJourneysByIds(ids));
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<JourneyResponse>> getJourneysByUserId(@PathVariable Long userId) {
         return ResponseEntity.ok(journeyService.getJourneysByUserId(userId));
@@ -26,6 +26,8 @@ public class JourneyResponse {
     private Double availableVolume;
     private String notes;
     private Set<String> preferredItemTypes;
+    // Same preferences as an ItemType mask, which is what matching reads
+    private long preferredItemTypeMask;
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -0,0 +1,24 @@
+package com.bangbang.journey.event;
+
+import com.bangbang.journey.dto.JourneyResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change notification sent to downstream consumers after a journey transaction commits
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JourneyChangeEvent {
+    private JourneyChangeType changeType;
+    private Long journeyId;
+    // Snapshot after the change; null for deletions
+    private JourneyResponse journey;
+    private LocalDateTime occurredAt;
+}
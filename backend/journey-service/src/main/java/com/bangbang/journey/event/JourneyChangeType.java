@@ -0,0 +1,8 @@
+package com.bangbang.journey.event;
+
+public enum JourneyChangeType {
+    CREATED,         // Journey was created
+    UPDATED,         // Journey details were edited
+    STATUS_CHANGED,  // Journey moved to another status (e.g. activated, cancelled)
+    DELETED          // Journey was removed
+}
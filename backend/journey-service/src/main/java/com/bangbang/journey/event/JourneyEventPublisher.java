@@ -0,0 +1,36 @@
+package com.bangbang.journey.event;
+
+import com.bangbang.journey.dto.JourneyResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Publishes journey changes as application events.
+ * Listeners decide when and where the events go; see {@link MatchingEventForwarder}.
+ */
+@Component
+@RequiredArgsConstructor
+public class JourneyEventPublisher {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public void publish(JourneyChangeType changeType, JourneyResponse journey) {
+        applicationEventPublisher.publishEvent(JourneyChangeEvent.builder()
+                .changeType(changeType)
+                .journeyId(journey.getId())
+                .journey(journey)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+
+    public void publishDeleted(Long journeyId) {
+        applicationEventPublisher.publishEvent(JourneyChangeEvent.builder()
+                .changeType(JourneyChangeType.DELETED)
+                .journeyId(journeyId)
+                .occurredAt(LocalDateTime.now())
+                .build());
+    }
+}
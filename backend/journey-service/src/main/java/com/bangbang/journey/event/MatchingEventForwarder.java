@@ -0,0 +1,32 @@
+package com.bangbang.journey.event;
+
+import com.bangbang.journey.client.MatchingServiceClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Forwards committed journey changes to the matching service so it can match incrementally.
+ * Delivery is best-effort; the matching service periodically reconciles its index to
+ * repair anything that was missed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MatchingEventForwarder {
+
+    private final MatchingServiceClient matchingServiceClient;
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJourneyChanged(JourneyChangeEvent event) {
+        try {
+            matchingServiceClient.publishJourneyEvent(event);
+        } catch (Exception e) {
+            log.warn("Failed to forward {} event for journey {} to matching service",
+                    event.getChangeType(), event.getJourneyId(), e);
+        }
+    }
+}
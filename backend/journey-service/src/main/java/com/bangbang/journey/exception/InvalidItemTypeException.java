@@ -0,0 +1,12 @@
+package com.bangbang.journey.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidItemTypeException extends RuntimeException {
+    
+    public InvalidItemTypeException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.bangbang.journey.mapper;
 
+import com.bangbang.common.core.model.ItemType;
 import com.bangbang.journey.dto.JourneyRequest;
 import com.bangbang.journey.dto.JourneyResponse;
 import com.bangbang.journey.model.Journey;
@@ -10,17 +11,19 @@ import org.mapstruct.MappingTarget;
 import org.mapstruct.ReportingPolicy;
 import org.mapstruct.factory.Mappers;
 
-@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE, imports = ItemType.class)
 public interface JourneyMapper {
 
     JourneyMapper INSTANCE = Mappers.getMapper(JourneyMapper.class);
 
     @Mapping(target = "status", expression = "java(journey.getStatus().name())")
+    @Mapping(target = "preferredItemTypes", expression = "java(ItemType.namesOf(journey.getPreferredItemTypeMask()))")
     JourneyResponse journeyToJourneyResponse(Journey journey);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "userId", ignore = true)
     @Mapping(target = "status", constant = "DRAFT")
+    @Mapping(target = "preferredItemTypeMask", expression = "java(ItemType.maskOf(journeyRequest.getPreferredItemTypes()))")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Journey journeyRequestToJourney(JourneyRequest journeyRequest);
@@ -28,6 +31,7 @@ public interface JourneyMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "userId", ignore = true)
     @Mapping(target = "status", ignore = true)
+    @Mapping(target = "preferredItemTypeMask", expression = "java(ItemType.maskOf(journeyRequest.getPreferredItemTypes()))")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     void updateJourneyFromRequest(JourneyRequest journeyRequest, @MappingTarget Journey journey);
@@ -12,8 +12,6 @@ import javax.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashSet;
-import java.util.Set;
 
 @Entity
 @Table(name = "journeys")
@@ -57,10 +55,9 @@ public class Journey {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "journey_item_types", joinColumns = @JoinColumn(name = "journey_id"))
-    @Column(name = "item_type")
-    private Set<String> preferredItemTypes = new HashSet<>();
+    // Bits of com.bangbang.common.core.model.ItemType; 0 accepts every item type
+    @Column(name = "preferred_item_type_mask", nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private long preferredItemTypeMask;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
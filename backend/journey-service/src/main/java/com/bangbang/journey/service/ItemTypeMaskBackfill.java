@@ -0,0 +1,78 @@
+package com.bangbang.journey.service;
+
+import com.bangbang.common.core.model.ItemType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * One-off migration of preferred item types from the journey_item_types collection table
+ * into journeys.preferred_item_type_mask. Each journey is migrated once: its id is recorded
+ * in journey_item_types_migrated in the same transaction as its mask, and recorded journeys
+ * are never looked at again, so preferences changed or cleared since are kept. The legacy
+ * rows are left in place for a rollback; dropping both tables is a separate step once the
+ * masks are verified.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemTypeMaskBackfill {
+
+    private static final String CREATE_MIGRATED_TABLE =
+            "CREATE TABLE IF NOT EXISTS journey_item_types_migrated (journey_id BIGINT NOT NULL PRIMARY KEY)";
+
+    private static final String SELECT_LEGACY_ITEM_TYPES =
+            "SELECT t.journey_id, t.item_type FROM journey_item_types t " +
+            "LEFT JOIN journey_item_types_migrated d ON d.journey_id = t.journey_id WHERE d.journey_id IS NULL";
+
+    // A journey saved with the new mask column before it was migrated keeps its preferences
+    private static final String UPDATE_MASK =
+            "UPDATE journeys SET preferred_item_type_mask = ? WHERE id = ? AND preferred_item_type_mask = 0";
+
+    private static final String MARK_MIGRATED = "INSERT IGNORE INTO journey_item_types_migrated (journey_id) VALUES (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        Map<Long, Set<String>> itemTypes = new HashMap<>();
+        try {
+            jdbcTemplate.execute(CREATE_MIGRATED_TABLE);
+            jdbcTemplate.query(SELECT_LEGACY_ITEM_TYPES, rs -> {
+                itemTypes.computeIfAbsent(rs.getLong("journey_id"), id -> new HashSet<>())
+                        .add(rs.getString("item_type"));
+            });
+        } catch (BadSqlGrammarException e) {
+            log.warn("Skipping item type mask backfill, journey_item_types is not readable: {}", e.getMessage());
+            return;
+        }
+        if (itemTypes.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> masks = new ArrayList<>(itemTypes.size());
+        List<Object[]> journeyIds = new ArrayList<>(itemTypes.size());
+        itemTypes.forEach((journeyId, names) -> {
+            masks.add(new Object[] {ItemType.maskOf(names), journeyId});
+            journeyIds.add(new Object[] {journeyId});
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(UPDATE_MASK, masks);
+            jdbcTemplate.batchUpdate(MARK_MIGRATED, journeyIds);
+        });
+        log.info("Migrated preferred item types of {} journeys to item type masks", itemTypes.size());
+    }
+}
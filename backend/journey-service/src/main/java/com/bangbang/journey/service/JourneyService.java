@@ -5,6 +5,7 @@ import com.bangbang.journey.dto.JourneyResponse;
 import com.bangbang.journey.model.JourneyStatus;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface JourneyService {
@@ -13,6 +14,8 @@ public interface JourneyService {
     
     JourneyResponse getJourneyById(Long id);
     
+    List<JourneyResponse> getJourneysByIds(Collection<Long> ids);
+    
     List<JourneyResponse> getJourneysByUserId(Long userId);
     
     List<JourneyResponse> getJourneysByStatus(JourneyStatus status);
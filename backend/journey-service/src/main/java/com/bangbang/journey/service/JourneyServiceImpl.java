@@ -1,7 +1,11 @@
 package com.bangbang.journey.service;
 
+import com.bangbang.common.core.model.ItemType;
 import com.bangbang.journey.dto.JourneyRequest;
 import com.bangbang.journey.dto.JourneyResponse;
+import com.bangbang.journey.event.JourneyChangeType;
+import com.bangbang.journey.event.JourneyEventPublisher;
+import com.bangbang.journey.exception.InvalidItemTypeException;
 import com.bangbang.journey.exception.JourneyNotFoundException;
 import com.bangbang.journey.exception.UnauthorizedAccessException;
 import com.bangbang.journey.mapper.JourneyMapper;
@@ -14,7 +18,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,6 +30,7 @@ public class JourneyServiceImpl implements JourneyService {
 
     private final JourneyRepository journeyRepository;
     private final JourneyMapper journeyMapper;
+    private final JourneyEventPublisher journeyEventPublisher;
 
     @Override
     @Transactional(readOnly = true)
@@ -40,6 +47,19 @@ public class JourneyServiceImpl implements JourneyService {
         return journeyMapper.journeyToJourneyResponse(journey);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<JourneyResponse> getJourneysByIds(Collection<Long> ids) {
+        // Unknown ids are skipped so one bad id does not fail the whole batch
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        return journeyRepository.findAllById(distinctIds).stream()
+                .map(journeyMapper::journeyToJourneyResponse)
+                .collect(Collectors.toList());
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<JourneyResponse> getJourneysByUserId(Long userId) {
@@ -89,25 +109,31 @@ public class JourneyServiceImpl implements JourneyService {
     @Override
     @Transactional
     public JourneyResponse createJourney(JourneyRequest journeyRequest, Long userId) {
+        validatePreferredItemTypes(journeyRequest.getPreferredItemTypes());
         Journey journey = journeyMapper.journeyRequestToJourney(journeyRequest);
         journey.setUserId(userId);
         
         Journey savedJourney = journeyRepository.save(journey);
         log.info("Created new journey with ID: {}", savedJourney.getId());
         
-        return journeyMapper.journeyToJourneyResponse(savedJourney);
+        JourneyResponse response = journeyMapper.journeyToJourneyResponse(savedJourney);
+        journeyEventPublisher.publish(JourneyChangeType.CREATED, response);
+        return response;
     }
 
     @Override
     @Transactional
     public JourneyResponse updateJourney(Long id, JourneyRequest journeyRequest, Long userId) {
+        validatePreferredItemTypes(journeyRequest.getPreferredItemTypes());
         Journey journey = findJourneyByIdAndValidateOwnership(id, userId);
         
         journeyMapper.updateJourneyFromRequest(journeyRequest, journey);
         Journey updatedJourney = journeyRepository.save(journey);
         
         log.info("Updated journey with ID: {}", updatedJourney.getId());
-        return journeyMapper.journeyToJourneyResponse(updatedJourney);
+        JourneyResponse response = journeyMapper.journeyToJourneyResponse(updatedJourney);
+        journeyEventPublisher.publish(JourneyChangeType.UPDATED, response);
+        return response;
     }
 
     @Override
@@ -119,7 +145,9 @@ public class JourneyServiceImpl implements JourneyService {
         Journey updatedJourney = journeyRepository.save(journey);
         
         log.info("Updated journey status to {} for journey ID: {}", status, id);
-        return journeyMapper.journeyToJourneyResponse(updatedJourney);
+        JourneyResponse response = journeyMapper.journeyToJourneyResponse(updatedJourney);
+        journeyEventPublisher.publish(JourneyChangeType.STATUS_CHANGED, response);
+        return response;
     }
 
     @Override
@@ -128,9 +156,23 @@ public class JourneyServiceImpl implements JourneyService {
         Journey journey = findJourneyByIdAndValidateOwnership(id, userId);
         
         journeyRepository.delete(journey);
+        journeyEventPublisher.publishDeleted(id);
         log.info("Deleted journey with ID: {}", id);
     }
 
+    // Unknown names would be stored as OTHER and let the journey match every unlisted type
+    private void validatePreferredItemTypes(Collection<String> itemTypes) {
+        if (itemTypes == null) {
+            return;
+        }
+        List<String> unknown = itemTypes.stream()
+                .filter(name -> !ItemType.isKnown(name))
+                .collect(Collectors.toList());
+        if (!unknown.isEmpty()) {
+            throw new InvalidItemTypeException("Unknown preferred item types: " + unknown);
+        }
+    }
+
     private Journey findJourneyById(Long id) {
         return journeyRepository.findById(id)
                 .orElseThrow(() -> new JourneyNotFoundException("Journey not found with ID: " + id));
@@ -0,0 +1,47 @@
+package com.bangbang.matching.benchmark;
+
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full candidate pipeline for one listing: corridor index lookup, hard-constraint
+ * filtering and scoring of every surviving candidate. Persistence is excluded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class CandidatePipelineBenchmark {
+
+    @Benchmark
+    public void journeysForDemand(MarketplaceState state, ProbeCursor cursor, Blackhole blackhole) {
+        DemandDto demand = state.probeDemands[cursor.next()];
+        List<JourneyDto> candidates = state.candidateFilter.filterJourneys(
+                demand, state.corridorIndex.findJourneysForDemand(demand));
+        for (JourneyDto journey : candidates) {
+            blackhole.consume(state.matchScorer.calculateMatchScore(demand, journey));
+        }
+    }
+
+    @Benchmark
+    public void demandsForJourney(MarketplaceState state, ProbeCursor cursor, Blackhole blackhole) {
+        JourneyDto journey = state.probeJourneys[cursor.next()];
+        List<DemandDto> candidates = state.candidateFilter.filterDemands(
+                journey, state.corridorIndex.findDemandsForJourney(journey));
+        for (DemandDto demand : candidates) {
+            blackhole.consume(state.matchScorer.calculateMatchScore(demand, journey));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.bangbang.matching.benchmark;
+
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.index.CorridorIndex;
+import com.bangbang.matching.index.Gazetteer;
+import com.bangbang.matching.index.LocationInterner;
+import com.bangbang.matching.service.CandidateFilter;
+import com.bangbang.matching.service.MatchScorer;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared benchmark fixture: a synthetic marketplace loaded into a corridor index, plus
+ * pre-drawn probe listings and (demand, journey) pairs so that no benchmark pays for
+ * data generation inside the measured loop.
+ */
+@State(Scope.Benchmark)
+public class MarketplaceState {
+
+    static final int PROBES = 4096;
+
+    @Param({"1000", "100000", "1000000"})
+    public int population;
+
+    @Param({"UNIFORM", "ZIPF"})
+    public SyntheticMarketplace.Distribution distribution;
+
+    MatchScorer matchScorer;
+    CandidateFilter candidateFilter;
+    CorridorIndex corridorIndex;
+
+    DemandDto[] probeDemands;
+    JourneyDto[] probeJourneys;
+    DemandDto[] pairDemands;
+    JourneyDto[] pairJourneys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticMarketplace marketplace = SyntheticMarketplace.generate(population, distribution, 42L);
+        List<DemandDto> demands = marketplace.getDemands();
+        List<JourneyDto> journeys = marketplace.getJourneys();
+
+        LocationInterner locationInterner = new LocationInterner(new Gazetteer(), new MatchingProperties());
+        matchScorer = new MatchScorer(locationInterner);
+        candidateFilter = new CandidateFilter(matchScorer);
+        corridorIndex = new CorridorIndex(locationInterner);
+        corridorIndex.reconcile(journeys, demands);
+
+        Random random = new Random(7L);
+        probeDemands = new DemandDto[PROBES];
+        probeJourneys = new JourneyDto[PROBES];
+        pairDemands = new DemandDto[PROBES];
+        pairJourneys = new JourneyDto[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probeDemands[i] = demands.get(random.nextInt(demands.size()));
+            probeJourneys[i] = journeys.get(random.nextInt(journeys.size()));
+
+            // Half of the pairs share a corridor, like candidates coming out of the index
+            DemandDto demand = demands.get(random.nextInt(demands.size()));
+            List<JourneyDto> corridorJourneys = corridorIndex.findJourneysForDemand(demand);
+            pairDemands[i] = demand;
+            pairJourneys[i] = random.nextBoolean() && !corridorJourneys.isEmpty()
+                    ? corridorJourneys.get(random.nextInt(corridorJourneys.size()))
+                    : journeys.get(random.nextInt(journeys.size()));
+        }
+    }
+}
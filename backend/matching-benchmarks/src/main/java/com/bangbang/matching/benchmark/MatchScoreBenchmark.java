@@ -0,0 +1,28 @@
+package com.bangbang.matching.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of scoring a single (demand, journey) pair
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+public class MatchScoreBenchmark {
+
+    @Benchmark
+    public double calculateMatchScore(MarketplaceState state, ProbeCursor cursor) {
+        int i = cursor.next();
+        return state.matchScorer.calculateMatchScore(state.pairDemands[i], state.pairJourneys[i]);
+    }
+}
@@ -0,0 +1,18 @@
+package com.bangbang.matching.benchmark;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Per-thread position in the probe arrays of {@link MarketplaceState}
+ */
+@State(Scope.Thread)
+public class ProbeCursor {
+
+    private int position;
+
+    int next() {
+        position = (position + 1) & (MarketplaceState.PROBES - 1);
+        return position;
+    }
+}
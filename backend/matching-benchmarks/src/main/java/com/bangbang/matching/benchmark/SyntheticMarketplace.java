@@ -0,0 +1,169 @@
+package com.bangbang.matching.benchmark;
+
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic synthetic population of open demands and journeys.
+ * Listings are spread over a fixed set of corridors, either uniformly or with a Zipf
+ * distribution where a handful of corridors (think Shanghai to New York) carry most of
+ * the traffic.
+ */
+public final class SyntheticMarketplace {
+
+    public enum Distribution {
+        UNIFORM,
+        ZIPF
+    }
+
+    private static final String[][] CITIES = {
+            {"China", "Shanghai"}, {"China", "Beijing"}, {"China", "Shenzhen"}, {"China", "Guangzhou"},
+            {"China", "Chengdu"}, {"China", "Hangzhou"}, {"USA", "New York"}, {"USA", "San Francisco"},
+            {"USA", "Los Angeles"}, {"USA", "Seattle"}, {"USA", "Chicago"}, {"USA", "Boston"},
+            {"Canada", "Toronto"}, {"Canada", "Vancouver"}, {"UK", "London"}, {"UK", "Manchester"},
+            {"France", "Paris"}, {"Germany", "Berlin"}, {"Germany", "Frankfurt"}, {"Japan", "Tokyo"},
+            {"Japan", "Osaka"}, {"Korea", "Seoul"}, {"Singapore", "Singapore"}, {"Australia", "Sydney"},
+            {"Australia", "Melbourne"}, {"UAE", "Dubai"}, {"Thailand", "Bangkok"}, {"Malaysia", "Kuala Lumpur"}
+    };
+
+    private static final String[] ITEM_TYPES = {
+            "electronics", "clothing", "documents", "cosmetics", "medicine",
+            "food", "toys", "books", "accessories", "other"
+    };
+
+    private static final int CORRIDOR_COUNT = 400;
+    private static final int DATE_SPAN_DAYS = 180;
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final LocalDate BASE_DATE = LocalDate.of(2027, 1, 1);
+
+    private final List<DemandDto> demands;
+    private final List<JourneyDto> journeys;
+
+    private SyntheticMarketplace(List<DemandDto> demands, List<JourneyDto> journeys) {
+        this.demands = demands;
+        this.journeys = journeys;
+    }
+
+    public static SyntheticMarketplace generate(int population, Distribution distribution, long seed) {
+        Random random = new Random(seed);
+        List<int[]> corridors = corridors(random);
+        CorridorSampler sampler = new CorridorSampler(corridors.size(), distribution, random);
+
+        LocalDate[] dates = new LocalDate[DATE_SPAN_DAYS];
+        for (int day = 0; day < DATE_SPAN_DAYS; day++) {
+            dates[day] = BASE_DATE.plusDays(day);
+        }
+        List<Set<String>> preferenceSets = preferenceSets(random);
+
+        List<DemandDto> demands = new ArrayList<>(population);
+        List<JourneyDto> journeys = new ArrayList<>(population);
+        for (int i = 0; i < population; i++) {
+            int[] corridor = corridors.get(sampler.next());
+            String[] origin = CITIES[corridor[0]];
+            String[] destination = CITIES[corridor[1]];
+            demands.add(DemandDto.builder()
+                    .id("demand-" + i)
+                    .userId("user-" + random.nextInt(population))
+                    .itemType(ITEM_TYPES[random.nextInt(ITEM_TYPES.length)])
+                    .weightKg(0.5 + random.nextInt(20) * 0.5)
+                    .originCountry(origin[0])
+                    .originCity(origin[1])
+                    .destinationCountry(destination[0])
+                    .destinationCity(destination[1])
+                    .deadline(dates[random.nextInt(DATE_SPAN_DAYS)])
+                    .status("PENDING")
+                    .build());
+
+            corridor = corridors.get(sampler.next());
+            origin = CITIES[corridor[0]];
+            destination = CITIES[corridor[1]];
+            journeys.add(JourneyDto.builder()
+                    .id((long) i)
+                    .userId((long) random.nextInt(population))
+                    .fromCountry(origin[0])
+                    .fromCity(origin[1])
+                    .toCountry(destination[0])
+                    .toCity(destination[1])
+                    .departureDate(dates[random.nextInt(DATE_SPAN_DAYS)])
+                    .availableWeight(1.0 + random.nextInt(30))
+                    .availableVolume(10.0 + random.nextInt(50))
+                    .preferredItemTypes(preferenceSets.get(random.nextInt(preferenceSets.size())))
+                    .status("ACTIVE")
+                    .build());
+        }
+        return new SyntheticMarketplace(demands, journeys);
+    }
+
+    public List<DemandDto> getDemands() {
+        return demands;
+    }
+
+    public List<JourneyDto> getJourneys() {
+        return journeys;
+    }
+
+    private static List<int[]> corridors(Random random) {
+        Set<Long> seen = new HashSet<>();
+        List<int[]> corridors = new ArrayList<>(CORRIDOR_COUNT);
+        while (corridors.size() < CORRIDOR_COUNT) {
+            int origin = random.nextInt(CITIES.length);
+            int destination = random.nextInt(CITIES.length);
+            if (origin != destination && seen.add((long) origin * CITIES.length + destination)) {
+                corridors.add(new int[]{origin, destination});
+            }
+        }
+        return corridors;
+    }
+
+    private static List<Set<String>> preferenceSets(Random random) {
+        List<Set<String>> sets = new ArrayList<>();
+        // Roughly a third of travelers accept anything
+        for (int i = 0; i < 16; i++) {
+            sets.add(Collections.emptySet());
+        }
+        for (int i = 0; i < 32; i++) {
+            Set<String> preferences = new HashSet<>();
+            int count = 1 + random.nextInt(4);
+            while (preferences.size() < count) {
+                preferences.add(ITEM_TYPES[random.nextInt(ITEM_TYPES.length)]);
+            }
+            sets.add(Collections.unmodifiableSet(preferences));
+        }
+        return sets;
+    }
+
+    /**
+     * Draws corridor indexes either uniformly or from a Zipf distribution via inverse CDF lookup
+     */
+    private static final class CorridorSampler {
+
+        private final Random random;
+        private final double[] cumulative;
+
+        CorridorSampler(int corridorCount, Distribution distribution, Random random) {
+            this.random = random;
+            this.cumulative = new double[corridorCount];
+            double total = 0;
+            for (int rank = 0; rank < corridorCount; rank++) {
+                total += distribution == Distribution.ZIPF ? 1.0 / Math.pow(rank + 1, ZIPF_EXPONENT) : 1.0;
+                cumulative[rank] = total;
+            }
+            for (int rank = 0; rank < corridorCount; rank++) {
+                cumulative[rank] /= total;
+            }
+        }
+
+        int next() {
+            int index = java.util.Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(cumulative.length - 1, index >= 0 ? index : -index - 1);
+        }
+    }
+}
@@ -1,11 +1,16 @@
 package com.bangbang.matching.client;
 
 import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.DemandPage;
+import com.bangbang.matching.event.DemandChangeEvent;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.Collection;
 import java.util.List;
 
 @FeignClient(name = "demand-service")
@@ -14,9 +19,18 @@ public interface DemandServiceClient {
     @GetMapping("/api/v1/demands/{id}")
     DemandDto getDemandById(@PathVariable("id") String id);
     
+    @PostMapping("/api/v1/demands/batch")
+    List<DemandDto> getDemandsByIds(@RequestBody Collection<String> ids);
+    
     @GetMapping("/api/v1/demands")
     List<DemandDto> getAllDemands();
     
+    @GetMapping("/api/v1/demands/scan")
+    List<DemandDto> scanDemandsByStatus(
+            @RequestParam("status") String status,
+            @RequestParam(value = "afterId", required = false) String afterId,
+            @RequestParam("limit") int limit);
+    
     @GetMapping("/api/v1/demands/user/{userId}")
     List<DemandDto> getDemandsByUserId(@PathVariable("userId") String userId);
     
@@ -29,4 +43,24 @@ public interface DemandServiceClient {
             @RequestParam(required = false) String itemType,
             @RequestParam(required = false) Double maxWeight,
             @RequestParam(required = false) String status);
-} 
\ No newline at end of file
+    
+    @GetMapping("/api/v1/demands/search/page")
+    DemandPage searchDemandsPage(
+            @RequestParam(required = false) String originCountry,
+            @RequestParam(required = false) String originCity,
+            @RequestParam(required = false) String destinationCountry,
+            @RequestParam(required = false) String destinationCity,
+            @RequestParam(required = false) String itemType,
+            @RequestParam(required = false) Double maxWeight,
+            @RequestParam(required = false) String status,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("limit") int limit);
+    
+    @GetMapping("/api/v1/demands/changes")
+    List<DemandChangeEvent> getDemandChanges(
+            @RequestParam("afterSequence") long afterSequence,
+            @RequestParam("limit") int limit);
+    
+    @GetMapping("/api/v1/demands/changes/head")
+    long getDemandChangesHead();
+}
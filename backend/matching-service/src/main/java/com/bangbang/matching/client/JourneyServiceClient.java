@@ -5,9 +5,12 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @FeignClient(name = "journey-service")
@@ -16,6 +19,9 @@ public interface JourneyServiceClient {
     @GetMapping("/api/v1/journeys/{id}")
     JourneyDto getJourneyById(@PathVariable("id") Long id);
     
+    @PostMapping("/api/v1/journeys/batch")
+    List<JourneyDto> getJourneysByIds(@RequestBody Collection<Long> ids);
+    
     @GetMapping("/api/v1/journeys")
     List<JourneyDto> getAllJourneys();
     
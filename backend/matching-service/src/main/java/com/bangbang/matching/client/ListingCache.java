@@ -0,0 +1,129 @@
+package com.bangbang.matching.client;
+
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.event.ChangeType;
+import com.bangbang.matching.event.DemandChangeEvent;
+import com.bangbang.matching.event.JourneyChangeEvent;
+import com.bangbang.matching.index.LocationInterner;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Local, size- and TTL-bounded cache of demand and journey details in front of the demand
+ * and journey service clients. Eviction is Caffeine's W-TinyLFU, so hot listings stay
+ * resident. Change events replace or evict entries; an entry is only ever replaced by a
+ * snapshot with an equal or later updatedAt, so a slow fetch cannot overwrite a newer event.
+ * Listings are interned by {@link LocationInterner} before they are cached, so the instances
+ * handed out are shared between threads but never written by interning them again.
+ * Hits, misses and evictions are published as cache.* meters tagged cache=matching.demands
+ * and cache=matching.journeys.
+ */
+@Component
+public class ListingCache {
+
+    private final DemandServiceClient demandServiceClient;
+    private final JourneyServiceClient journeyServiceClient;
+    private final LocationInterner locationInterner;
+    private final Cache<String, DemandDto> demands;
+    private final Cache<Long, JourneyDto> journeys;
+
+    public ListingCache(DemandServiceClient demandServiceClient,
+                        JourneyServiceClient journeyServiceClient,
+                        LocationInterner locationInterner,
+                        MatchingProperties matchingProperties,
+                        MeterRegistry meterRegistry) {
+        this.demandServiceClient = demandServiceClient;
+        this.journeyServiceClient = journeyServiceClient;
+        this.locationInterner = locationInterner;
+        MatchingProperties.Listings settings = matchingProperties.getListings();
+        this.demands = CaffeineCacheMetrics.monitor(meterRegistry, newCache(settings), "matching.demands");
+        this.journeys = CaffeineCacheMetrics.monitor(meterRegistry, newCache(settings), "matching.journeys");
+    }
+
+    public DemandDto getDemand(String demandId) {
+        return demands.get(demandId, id -> locationInterner.intern(demandServiceClient.getDemandById(id)));
+    }
+
+    public JourneyDto getJourney(Long journeyId) {
+        return journeys.get(journeyId, id -> locationInterner.intern(journeyServiceClient.getJourneyById(id)));
+    }
+
+    /**
+     * Cached demands among the given ids; absent ids are left for the caller to fetch
+     */
+    public Map<String, DemandDto> presentDemands(Collection<String> demandIds) {
+        return demands.getAllPresent(demandIds);
+    }
+
+    public Map<Long, JourneyDto> presentJourneys(Collection<Long> journeyIds) {
+        return journeys.getAllPresent(journeyIds);
+    }
+
+    /**
+     * Batch fetch from the demand service, caching the results
+     */
+    public List<DemandDto> loadDemands(Collection<String> demandIds) {
+        List<DemandDto> loaded = demandServiceClient.getDemandsByIds(demandIds);
+        loaded.forEach(this::putDemand);
+        return loaded;
+    }
+
+    /**
+     * Batch fetch from the journey service, caching the results
+     */
+    public List<JourneyDto> loadJourneys(Collection<Long> journeyIds) {
+        List<JourneyDto> loaded = journeyServiceClient.getJourneysByIds(journeyIds);
+        loaded.forEach(this::putJourney);
+        return loaded;
+    }
+
+    public void putDemand(DemandDto demand) {
+        demands.asMap().merge(demand.getId(), locationInterner.intern(demand),
+                (cached, candidate) -> isNewer(candidate.getUpdatedAt(), cached.getUpdatedAt()) ? candidate : cached);
+    }
+
+    public void putJourney(JourneyDto journey) {
+        journeys.asMap().merge(journey.getId(), locationInterner.intern(journey),
+                (cached, candidate) -> isNewer(candidate.getUpdatedAt(), cached.getUpdatedAt()) ? candidate : cached);
+    }
+
+    public void apply(DemandChangeEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED || event.getDemand() == null) {
+            demands.invalidate(event.getDemandId());
+        } else {
+            putDemand(event.getDemand());
+        }
+    }
+
+    public void apply(JourneyChangeEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED || event.getJourney() == null) {
+            journeys.invalidate(event.getJourneyId());
+        } else {
+            putJourney(event.getJourney());
+        }
+    }
+
+    // Without versions on both sides the later arrival wins
+    private static boolean isNewer(LocalDateTime candidate, LocalDateTime cached) {
+        return candidate == null || cached == null || !candidate.isBefore(cached);
+    }
+
+    private static <K, V> Cache<K, V> newCache(MatchingProperties.Listings settings) {
+        return Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(settings.getExpireAfterWriteMs()))
+                .recordStats()
+                .build();
+    }
+}
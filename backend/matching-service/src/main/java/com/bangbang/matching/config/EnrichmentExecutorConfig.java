@@ -0,0 +1,39 @@
+package com.bangbang.matching.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated, bounded executor for remote demand/journey lookups during match enrichment.
+ * When the queue is full the calling request thread runs the lookup itself, which
+ * applies back-pressure instead of queueing without limit.
+ */
+@Configuration
+public class EnrichmentExecutorConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService enrichmentExecutor(MatchingProperties matchingProperties, MeterRegistry meterRegistry) {
+        MatchingProperties.Enrichment enrichment = matchingProperties.getEnrichment();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                enrichment.getPoolSize(), enrichment.getPoolSize(),
+                60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(enrichment.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "match-enrichment-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "matching.enrichment");
+    }
+}
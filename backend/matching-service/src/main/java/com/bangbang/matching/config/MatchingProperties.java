@@ -0,0 +1,239 @@
+package com.bangbang.matching.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the matching engine.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "matching")
+public class MatchingProperties {
+
+    private Index index = new Index();
+
+    private Events events = new Events();
+
+    private Enrichment enrichment = new Enrichment();
+
+    private Scoring scoring = new Scoring();
+
+    private Rematch rematch = new Rematch();
+
+    private Assignment assignment = new Assignment();
+
+    private View view = new View();
+
+    private Sharding sharding = new Sharding();
+
+    private Listings listings = new Listings();
+
+    private Proximity proximity = new Proximity();
+
+    private Expiry expiry = new Expiry();
+
+    private Feed feed = new Feed();
+
+    @Data
+    public static class Index {
+        /**
+         * Load open journeys and demands into the corridor index on startup
+         */
+        private boolean warmUpOnStartup = true;
+
+        /**
+         * Interval in milliseconds between full reconciliations of the corridor index
+         */
+        private long reconcileIntervalMs = 900000;
+
+        /**
+         * Demands fetched per page when loading the index
+         */
+        private int pageSize = 500;
+    }
+
+    @Data
+    public static class Events {
+        /**
+         * Maximum number of change events waiting to be applied
+         */
+        private int queueCapacity = 10000;
+    }
+
+    @Data
+    public static class Enrichment {
+        /**
+         * Number of threads performing remote lookups
+         */
+        private int poolSize = 16;
+
+        /**
+         * Lookups waiting for a thread before callers run them inline
+         */
+        private int queueCapacity = 200;
+
+        /**
+         * Timeout in milliseconds for a single remote lookup
+         */
+        private long timeoutMs = 2000;
+
+        /**
+         * Maximum number of ids sent in one batch lookup
+         */
+        private int batchSize = 100;
+    }
+
+    @Data
+    public static class Scoring {
+        /**
+         * Minimum score for a candidate to become a proposed match
+         */
+        private double minScore = 0.5;
+
+        /**
+         * Keep only the K best new candidates per listing; 0 keeps every candidate above the minimum score
+         */
+        private int topK = 0;
+    }
+
+    @Data
+    public static class Rematch {
+        /**
+         * Pending demands fetched, matched and committed per chunk
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Resume jobs left RUNNING by a replica that stopped renewing their lease
+         */
+        private boolean resumeOnStartup = true;
+
+        /**
+         * How long a running job stays leased to its replica without committing a chunk
+         */
+        private long leaseMs = 120000;
+    }
+
+    @Data
+    public static class Assignment {
+        /**
+         * Propose matches through capacity-aware assignment over the whole corridor
+         * instead of scoring each listing independently
+         */
+        private boolean enabled = false;
+
+        /**
+         * Best journeys kept per demand as assignment candidates
+         */
+        private int maxEdgesPerDemand = 8;
+    }
+
+    @Data
+    public static class View {
+        /**
+         * Project matches missing from match_view when the service starts
+         */
+        private boolean backfillOnStartup = true;
+
+        /**
+         * Matches enriched and projected per backfill round
+         */
+        private int backfillBatchSize = 200;
+    }
+
+    @Data
+    public static class Sharding {
+        /**
+         * Split corridors across the registered matching-service replicas by consistent hashing;
+         * each replica indexes only the corridors it owns and forwards the rest
+         */
+        private boolean enabled = false;
+
+        /**
+         * Points each replica places on the hash ring; more points even out the corridor split
+         */
+        private int virtualNodes = 128;
+
+        /**
+         * Interval in milliseconds between refreshes of the replica list from discovery
+         */
+        private long refreshIntervalMs = 30000;
+
+        /**
+         * Connect and read timeout in milliseconds for requests forwarded to the owning replica
+         */
+        private long forwardTimeoutMs = 2000;
+    }
+
+    @Data
+    public static class Listings {
+        /**
+         * Maximum number of demands and of journeys kept in the local detail cache
+         */
+        private long maximumSize = 50000;
+
+        /**
+         * Time in milliseconds after which a cached listing is fetched again, bounding staleness
+         * when a change event is missed
+         */
+        private long expireAfterWriteMs = 300000;
+    }
+
+    @Data
+    public static class Proximity {
+        /**
+         * Match listings whose cities are within the radius of each other, not only equal cities.
+         * Only cities found in the bundled gazetteer take part. Ignored while sharding is
+         * enabled, as nearby corridors are owned by other replicas.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum distance in kilometres between two origins, and between two destinations
+         */
+        private double radiusKm = 30;
+    }
+
+    @Data
+    public static class Expiry {
+        /**
+         * Expire PROPOSED and PENDING matches past the journey departure or demand deadline
+         */
+        private boolean enabled = true;
+
+        /**
+         * Interval in milliseconds between expiry sweeps
+         */
+        private long sweepIntervalMs = 600000;
+
+        /**
+         * Matches expired per UPDATE statement
+         */
+        private int batchSize = 500;
+
+        /**
+         * Upper bound on batches per sweep; the rest waits for the next sweep
+         */
+        private int maxBatchesPerSweep = 200;
+    }
+
+    @Data
+    public static class Feed {
+        /**
+         * Follow the demand-service change feed from a persisted checkpoint
+         */
+        private boolean enabled = true;
+
+        /**
+         * Interval in milliseconds between polls of the change feed
+         */
+        private long pollIntervalMs = 2000;
+
+        /**
+         * Changes fetched per request
+         */
+        private int batchSize = 500;
+    }
+}
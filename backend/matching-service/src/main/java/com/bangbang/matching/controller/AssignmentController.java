@@ -0,0 +1,27 @@
+package com.bangbang.matching.controller;
+
+import com.bangbang.matching.dto.AssignmentSummary;
+import com.bangbang.matching.service.AssignmentService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Operations endpoint for capacity-aware assignment over the whole marketplace
+ */
+@RestController
+@RequestMapping("/api/v1/matches/admin/assignment")
+@RequiredArgsConstructor
+public class AssignmentController {
+
+    private final AssignmentService assignmentService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AssignmentSummary> assignAll() {
+        return ResponseEntity.ok(assignmentService.assignAll());
+    }
+}
@@ -0,0 +1,38 @@
+package com.bangbang.matching.controller;
+
+import com.bangbang.matching.dto.CorridorOwnerDto;
+import com.bangbang.matching.shard.CorridorRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Routing hints for callers that can send corridor traffic straight to the owning replica
+ */
+@RestController
+@RequestMapping("/api/v1/matches/shards")
+@RequiredArgsConstructor
+public class CorridorRingController {
+
+    private final CorridorRing corridorRing;
+
+    @GetMapping("/owner")
+    public ResponseEntity<CorridorOwnerDto> getCorridorOwner(
+            @RequestParam String originCountry,
+            @RequestParam String originCity,
+            @RequestParam String destinationCountry,
+            @RequestParam String destinationCity) {
+        if (!corridorRing.isEnabled()) {
+            return ResponseEntity.noContent().build();
+        }
+        return corridorRing.ownerOf(originCountry, originCity, destinationCountry, destinationCity)
+                .map(owner -> ResponseEntity.ok(CorridorOwnerDto.builder()
+                        .instanceId(owner.getInstanceId())
+                        .uri(owner.getUri().toString())
+                        .build()))
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+}
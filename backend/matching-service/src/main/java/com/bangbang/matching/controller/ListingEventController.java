@@ -0,0 +1,63 @@
+package com.bangbang.matching.controller;
+
+import com.bangbang.matching.client.ListingCache;
+import com.bangbang.matching.event.DemandChangeEvent;
+import com.bangbang.matching.event.JourneyChangeEvent;
+import com.bangbang.matching.event.ListingEventRouter;
+import com.bangbang.matching.event.ListingEventWorker;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Receives change events from the demand and journey services, and from replicas
+ * forwarding events for corridors owned by this one
+ */
+@RestController
+@RequestMapping("/api/v1/matches/events")
+@RequiredArgsConstructor
+@Slf4j
+public class ListingEventController {
+
+    private final ListingEventWorker listingEventWorker;
+    private final ListingEventRouter listingEventRouter;
+    private final ListingCache listingCache;
+
+    @PostMapping("/demands")
+    public ResponseEntity<Void> onDemandChanged(@RequestBody DemandChangeEvent event) {
+        // Every replica receiving the event refreshes its cache, the owner included
+        listingCache.apply(event);
+        if (listingEventRouter.routeToOwner(event)) {
+            return ResponseEntity.accepted().build();
+        }
+        try {
+            listingEventWorker.submit(event);
+            return ResponseEntity.accepted().build();
+        } catch (RejectedExecutionException e) {
+            log.warn("Event queue full, dropping {} event for demand {}", event.getChangeType(), event.getDemandId());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @PostMapping("/journeys")
+    public ResponseEntity<Void> onJourneyChanged(@RequestBody JourneyChangeEvent event) {
+        listingCache.apply(event);
+        if (listingEventRouter.routeToOwner(event)) {
+            return ResponseEntity.accepted().build();
+        }
+        try {
+            listingEventWorker.submit(event);
+            return ResponseEntity.accepted().build();
+        } catch (RejectedExecutionException e) {
+            log.warn("Event queue full, dropping {} event for journey {}", event.getChangeType(), event.getJourneyId());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.bangbang.matching.controller;
+
+import com.bangbang.matching.service.MatchViewProjector;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Operations endpoint for the match_view projection
+ */
+@RestController
+@RequestMapping("/api/v1/matches/admin/match-view")
+@RequiredArgsConstructor
+public class MatchViewController {
+
+    private final MatchViewProjector matchViewProjector;
+
+    @PostMapping("/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> backfill() {
+        return ResponseEntity.ok(Map.of("projected", matchViewProjector.backfill()));
+    }
+}
@@ -2,8 +2,10 @@ package com.bangbang.matching.controller;
 
 import com.bangbang.matching.dto.MatchConfirmRequest;
 import com.bangbang.matching.dto.MatchDto;
+import com.bangbang.matching.dto.MatchPage;
 import com.bangbang.matching.model.MatchStatus;
 import com.bangbang.matching.service.MatchingService;
+import com.bangbang.matching.trace.MatchTrace;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -14,6 +16,7 @@ import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/matches")
@@ -39,6 +42,29 @@ public class MatchingController {
         return ResponseEntity.ok(matchingService.getMatchesByStatusAndUserId(matchStatus, userId));
     }
 
+    /**
+     * Bounded, cursor-paginated alternative to the full listings above
+     */
+    @GetMapping("/page")
+    public ResponseEntity<MatchPage> getMatchPageForCurrentUser(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String userId = userDetails.getUsername();
+        return ResponseEntity.ok(matchingService.getMatchPage(userId, null, cursor, limit));
+    }
+
+    @GetMapping("/status/{status}/page")
+    public ResponseEntity<MatchPage> getMatchPageByStatusForCurrentUser(
+            @PathVariable String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String userId = userDetails.getUsername();
+        MatchStatus matchStatus = MatchStatus.valueOf(status.toUpperCase());
+        return ResponseEntity.ok(matchingService.getMatchPage(userId, matchStatus, cursor, limit));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<MatchDto> getMatchById(@PathVariable Long id) {
         return ResponseEntity.ok(matchingService.getMatchById(id));
@@ -57,17 +83,21 @@ public class MatchingController {
     @PostMapping("/demand/{demandId}/find")
     public ResponseEntity<List<MatchDto>> findMatchesForDemand(
             @PathVariable String demandId,
+            @RequestParam(defaultValue = "false") boolean trace,
+            @RequestHeader(value = MatchTrace.HEADER, defaultValue = "false") boolean traceHeader,
             @AuthenticationPrincipal UserDetails userDetails) {
         // Security check would be done in the service
-        return ResponseEntity.ok(matchingService.findMatchesForDemand(demandId));
+        return traced(trace || traceHeader, () -> matchingService.findMatchesForDemand(demandId));
     }
 
     @PostMapping("/journey/{journeyId}/find")
     public ResponseEntity<List<MatchDto>> findMatchesForJourney(
             @PathVariable Long journeyId,
+            @RequestParam(defaultValue = "false") boolean trace,
+            @RequestHeader(value = MatchTrace.HEADER, defaultValue = "false") boolean traceHeader,
             @AuthenticationPrincipal UserDetails userDetails) {
         // Security check would be done in the service
-        return ResponseEntity.ok(matchingService.findMatchesForJourney(journeyId));
+        return traced(trace || traceHeader, () -> matchingService.findMatchesForJourney(journeyId));
     }
 
     @PutMapping("/{id}/confirm/demander")
@@ -102,4 +132,25 @@ public class MatchingController {
         // Authorization check would be done in the service
         return ResponseEntity.ok(matchingService.cancelMatch(id));
     }
-} 
\ No newline at end of file
+
+    /**
+     * Run a match search, optionally traced; a traced search returns its stage timings and
+     * candidate counts in the X-Match-Trace response header
+     */
+    private ResponseEntity<List<MatchDto>> traced(boolean trace, Supplier<List<MatchDto>> search) {
+        if (!trace) {
+            return ResponseEntity.ok(search.get());
+        }
+        MatchTrace matchTrace = MatchTrace.begin();
+        try {
+            long start = System.nanoTime();
+            List<MatchDto> matches = search.get();
+            MatchTrace.recordStage("total", System.nanoTime() - start);
+            return ResponseEntity.ok()
+                    .header(MatchTrace.HEADER, matchTrace.summary())
+                    .body(matches);
+        } finally {
+            MatchTrace.end();
+        }
+    }
+}
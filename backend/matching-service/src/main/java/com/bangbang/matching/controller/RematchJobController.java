@@ -0,0 +1,52 @@
+package com.bangbang.matching.controller;
+
+import com.bangbang.matching.model.RematchJob;
+import com.bangbang.matching.service.RematchJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Operations endpoints for the bulk rematch job
+ */
+@RestController
+@RequestMapping("/api/v1/matches/admin/rematch-jobs")
+@RequiredArgsConstructor
+public class RematchJobController {
+
+    private final RematchJobService rematchJobService;
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RematchJob> startJob() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(rematchJobService.startJob());
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<RematchJob>> getJobs() {
+        return ResponseEntity.ok(rematchJobService.getJobs());
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RematchJob> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok(rematchJobService.getJob(id));
+    }
+
+    @PostMapping("/{id}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RematchJob> resumeJob(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(rematchJobService.resumeJob(id));
+    }
+
+    @PostMapping("/{id}/cancel")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RematchJob> cancelJob(@PathVariable Long id) {
+        return ResponseEntity.ok(rematchJobService.cancelJob(id));
+    }
+}
@@ -0,0 +1,17 @@
+package com.bangbang.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentSummary {
+    private int corridors;
+    private int matchesProposed;
+    private int proposalsWithdrawn;
+    private long elapsedMs;
+}
@@ -0,0 +1,18 @@
+package com.bangbang.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Routing hint: the matching-service replica that owns a corridor
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CorridorOwnerDto {
+    private String instanceId;
+    private String uri;
+}
@@ -1,5 +1,6 @@
 package com.bangbang.matching.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -31,4 +32,13 @@ public class DemandDto {
     private Integer viewCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    // Interned location ids, assigned when the listing enters the matching engine
+    @JsonIgnore
+    private int originLocationId;
+    @JsonIgnore
+    private int destinationLocationId;
+    // ItemType bit of itemType, assigned together with the location ids
+    @JsonIgnore
+    private long itemTypeBit;
 } 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.bangbang.matching.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of demands from demand-service, oldest first; nextCursor is null on the last page
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DemandPage {
+    private List<DemandDto> items;
+    private String nextCursor;
+}
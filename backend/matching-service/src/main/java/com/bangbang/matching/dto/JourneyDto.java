@@ -1,5 +1,6 @@
 package com.bangbang.matching.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -26,7 +27,15 @@ public class JourneyDto {
     private Double availableVolume;
     private String notes;
     private Set<String> preferredItemTypes;
+    // ItemType mask of preferredItemTypes; 0 accepts every item type
+    private long preferredItemTypeMask;
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    // Interned location ids, assigned when the listing enters the matching engine
+    @JsonIgnore
+    private int fromLocationId;
+    @JsonIgnore
+    private int toLocationId;
 } 
\ No newline at end of file
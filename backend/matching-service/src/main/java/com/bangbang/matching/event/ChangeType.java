@@ -0,0 +1,8 @@
+package com.bangbang.matching.event;
+
+public enum ChangeType {
+    CREATED,         // Listing was created
+    UPDATED,         // Listing details were edited
+    STATUS_CHANGED,  // Listing moved to another status (e.g. cancelled)
+    DELETED          // Listing was removed
+}
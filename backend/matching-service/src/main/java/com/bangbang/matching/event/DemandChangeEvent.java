@@ -0,0 +1,26 @@
+package com.bangbang.matching.event;
+
+import com.bangbang.matching.dto.DemandDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change notification published by the demand service
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DemandChangeEvent {
+    private ChangeType changeType;
+    private String demandId;
+    // Snapshot after the change; null for deletions
+    private DemandDto demand;
+    private LocalDateTime occurredAt;
+    // Position in the demand change feed; null on pushed events
+    private Long sequence;
+}
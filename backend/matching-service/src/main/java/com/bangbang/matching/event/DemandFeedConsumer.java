@@ -0,0 +1,118 @@
+package com.bangbang.matching.event;
+
+import com.bangbang.matching.client.DemandServiceClient;
+import com.bangbang.matching.client.ListingCache;
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.model.FeedCheckpoint;
+import com.bangbang.matching.repository.FeedCheckpointRepository;
+import com.bangbang.matching.shard.CorridorRing;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Follows the demand-service change feed and applies each change in sequence order.
+ * Unlike the pushed events, which are best-effort, the feed is read from a persisted
+ * checkpoint, so changes made while this replica was down or unreachable are applied when it
+ * comes back. Changes go through the {@link ListingEventWorker} queue, so they are applied in
+ * order with the pushed events, and the checkpoint only moves past a change once it has been
+ * applied; after a crash the last batch may be applied again, which is harmless as applying
+ * a change is idempotent. A consumer without a checkpoint starts at the head of the feed: the
+ * index warm-up and reconciliation already cover the listings' current state.
+ * With sharding every replica reads the whole feed under its own checkpoint, refreshes its
+ * listing cache, and indexes only the corridors it owns.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DemandFeedConsumer {
+
+    private static final String CONSUMER = "demand-service";
+
+    private final DemandServiceClient demandServiceClient;
+    private final ListingCache listingCache;
+    private final ListingEventWorker listingEventWorker;
+    private final CorridorRing corridorRing;
+    private final FeedCheckpointRepository feedCheckpointRepository;
+    private final MatchingProperties matchingProperties;
+
+    @Scheduled(fixedDelayString = "${matching.feed.poll-interval-ms:2000}")
+    public void poll() {
+        MatchingProperties.Feed settings = matchingProperties.getFeed();
+        if (!settings.isEnabled()) {
+            return;
+        }
+        String consumerId = consumerId();
+        if (consumerId == null) {
+            // Sharded, but this replica's own id is not known yet; never borrow another checkpoint
+            return;
+        }
+        try {
+            FeedCheckpoint checkpoint = feedCheckpointRepository.findById(consumerId)
+                    .orElseGet(() -> startAtHead(consumerId));
+            boolean drained;
+            do {
+                List<DemandChangeEvent> changes =
+                        demandServiceClient.getDemandChanges(checkpoint.getLastSequence(), settings.getBatchSize());
+                long applied = applyInOrder(changes, checkpoint.getLastSequence());
+                if (applied != checkpoint.getLastSequence()) {
+                    checkpoint.setLastSequence(applied);
+                    checkpoint = feedCheckpointRepository.save(checkpoint);
+                    log.debug("Applied demand changes up to sequence {}", applied);
+                }
+                drained = changes.size() < settings.getBatchSize()
+                        || (!changes.isEmpty() && applied != changes.get(changes.size() - 1).getSequence());
+            } while (!drained);
+        } catch (Exception e) {
+            log.error("Error consuming demand change feed", e);
+        }
+    }
+
+    private FeedCheckpoint startAtHead(String consumerId) {
+        long head = demandServiceClient.getDemandChangesHead();
+        log.info("No demand feed checkpoint for {}, starting at sequence {}", consumerId, head);
+        return feedCheckpointRepository.save(FeedCheckpoint.builder().consumer(consumerId).lastSequence(head).build());
+    }
+
+    /**
+     * Queue the changes on the event worker and wait until they are applied
+     *
+     * @return sequence of the last change applied; stops early when the worker queue is full
+     */
+    private long applyInOrder(List<DemandChangeEvent> changes, long lastSequence) throws Exception {
+        List<Future<?>> queued = new ArrayList<>(changes.size());
+        long applied = lastSequence;
+        try {
+            for (DemandChangeEvent change : changes) {
+                listingCache.apply(change);
+                if (change.getDemand() == null || corridorRing.isLocal(change.getDemand())) {
+                    queued.add(listingEventWorker.submit(change));
+                }
+                applied = change.getSequence();
+            }
+        } catch (RejectedExecutionException e) {
+            log.warn("Listing event queue is full, resuming the demand feed after sequence {}", applied);
+        }
+        for (Future<?> change : queued) {
+            change.get();
+        }
+        return applied;
+    }
+
+    /**
+     * Checkpoint row of this replica; null while sharded and the replica's id is not yet known
+     */
+    private String consumerId() {
+        if (!corridorRing.isEnabled()) {
+            return CONSUMER;
+        }
+        String localId = corridorRing.localId();
+        return localId != null ? CONSUMER + ":" + localId : null;
+    }
+}
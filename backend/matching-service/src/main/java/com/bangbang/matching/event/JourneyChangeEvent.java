@@ -0,0 +1,24 @@
+package com.bangbang.matching.event;
+
+import com.bangbang.matching.dto.JourneyDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change notification published by the journey service
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class JourneyChangeEvent {
+    private ChangeType changeType;
+    private Long journeyId;
+    // Snapshot after the change; null for deletions
+    private JourneyDto journey;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,81 @@
+package com.bangbang.matching.event;
+
+import com.bangbang.matching.shard.CorridorForwarder;
+import com.bangbang.matching.shard.CorridorRing;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Optional;
+
+/**
+ * Hands change events for corridors owned by another replica over to that replica.
+ * Deletions carry no snapshot to derive a corridor from, so they are applied locally and
+ * also sent to every peer; removing an unknown listing is a no-op.
+ * When the owner cannot be reached the event is applied locally, and the next reconciliation
+ * drops the listing from this replica's index again.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ListingEventRouter {
+
+    private static final String DEMAND_EVENTS_PATH = "/api/v1/matches/events/demands";
+    private static final String JOURNEY_EVENTS_PATH = "/api/v1/matches/events/journeys";
+
+    private final CorridorRing corridorRing;
+    private final CorridorForwarder corridorForwarder;
+
+    /**
+     * @return true when the owning replica took the event and it must not be applied here
+     */
+    public boolean routeToOwner(DemandChangeEvent event) {
+        if (!corridorRing.isEnabled() || CorridorForwarder.isForwardedRequest()) {
+            return false;
+        }
+        if (event.getChangeType() == ChangeType.DELETED || event.getDemand() == null) {
+            broadcast(DEMAND_EVENTS_PATH, event);
+            return false;
+        }
+        return forward(corridorRing.remoteOwnerOf(event.getDemand()), DEMAND_EVENTS_PATH, event);
+    }
+
+    /**
+     * @return true when the owning replica took the event and it must not be applied here
+     */
+    public boolean routeToOwner(JourneyChangeEvent event) {
+        if (!corridorRing.isEnabled() || CorridorForwarder.isForwardedRequest()) {
+            return false;
+        }
+        if (event.getChangeType() == ChangeType.DELETED || event.getJourney() == null) {
+            broadcast(JOURNEY_EVENTS_PATH, event);
+            return false;
+        }
+        return forward(corridorRing.remoteOwnerOf(event.getJourney()), JOURNEY_EVENTS_PATH, event);
+    }
+
+    private boolean forward(Optional<ServiceInstance> owner, String path, Object event) {
+        if (!owner.isPresent()) {
+            return false;
+        }
+        try {
+            corridorForwarder.post(owner.get(), path, event);
+            return true;
+        } catch (RestClientException e) {
+            log.warn("Could not forward event to {}, applying it locally: {}", owner.get().getInstanceId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void broadcast(String path, Object event) {
+        for (ServiceInstance peer : corridorRing.peers()) {
+            try {
+                corridorForwarder.post(peer, path, event);
+            } catch (RestClientException e) {
+                log.warn("Could not send deletion to {}: {}", peer.getInstanceId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.bangbang.matching.event;
+
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.index.CorridorIndex;
+import com.bangbang.matching.repository.MatchRepository;
+import com.bangbang.matching.service.MatchViewProjector;
+import com.bangbang.matching.service.MatchingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consumes demand and journey change events in-process.
+ * Each event refreshes the listing's snapshot in match_view and the expiry of its open
+ * matches, updates the corridor index and scores only the changed listing against its
+ * corridor, so matching cost is proportional to the delta rather than to the marketplace.
+ * Events are applied one at a time, in arrival order, from a bounded queue.
+ */
+@Component
+@Slf4j
+public class ListingEventWorker {
+
+    private final CorridorIndex corridorIndex;
+    private final MatchingService matchingService;
+    private final MatchViewProjector matchViewProjector;
+    private final MatchRepository matchRepository;
+    private final ExecutorService executor;
+
+    public ListingEventWorker(CorridorIndex corridorIndex,
+                              MatchingService matchingService,
+                              MatchViewProjector matchViewProjector,
+                              MatchRepository matchRepository,
+                              MatchingProperties matchingProperties) {
+        this.corridorIndex = corridorIndex;
+        this.matchingService = matchingService;
+        this.matchViewProjector = matchViewProjector;
+        this.matchRepository = matchRepository;
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(matchingProperties.getEvents().getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "listing-event-worker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queue a demand change. Throws RejectedExecutionException when the queue is full.
+     *
+     * @return completes once the change has been applied
+     */
+    public Future<?> submit(DemandChangeEvent event) {
+        return executor.submit(() -> apply(event));
+    }
+
+    /**
+     * Queue a journey change. Throws RejectedExecutionException when the queue is full.
+     */
+    public void submit(JourneyChangeEvent event) {
+        executor.execute(() -> apply(event));
+    }
+
+    void apply(DemandChangeEvent event) {
+        try {
+            DemandDto demand = event.getDemand();
+            if (event.getChangeType() == ChangeType.DELETED || demand == null) {
+                corridorIndex.removeDemand(event.getDemandId());
+                matchViewProjector.markDemandDeleted(event.getDemandId());
+                return;
+            }
+            matchViewProjector.applyDemand(demand);
+            matchRepository.updateExpiryForDemand(demand.getId(), demand.getDeadline());
+            corridorIndex.upsertDemand(demand);
+            if ("PENDING".equals(demand.getStatus())) {
+                int created = matchingService.proposeMatchesForDemand(demand);
+                log.debug("Demand {} {}: {} new matches", demand.getId(), event.getChangeType(), created);
+            }
+        } catch (Exception e) {
+            log.error("Error applying {} event for demand {}", event.getChangeType(), event.getDemandId(), e);
+        }
+    }
+
+    void apply(JourneyChangeEvent event) {
+        try {
+            JourneyDto journey = event.getJourney();
+            if (event.getChangeType() == ChangeType.DELETED || journey == null) {
+                corridorIndex.removeJourney(event.getJourneyId());
+                matchViewProjector.markJourneyDeleted(event.getJourneyId());
+                return;
+            }
+            matchViewProjector.applyJourney(journey);
+            matchRepository.updateExpiryForJourney(journey.getId(), journey.getDepartureDate());
+            corridorIndex.upsertJourney(journey);
+            if ("ACTIVE".equals(journey.getStatus())) {
+                int created = matchingService.proposeMatchesForJourney(journey);
+                log.debug("Journey {} {}: {} new matches", journey.getId(), event.getChangeType(), created);
+            }
+        } catch (Exception e) {
+            log.error("Error applying {} event for journey {}", event.getChangeType(), event.getJourneyId(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,12 @@
+package com.bangbang.matching.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidCursorException extends RuntimeException {
+    
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
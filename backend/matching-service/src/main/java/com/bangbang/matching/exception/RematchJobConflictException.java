@@ -0,0 +1,12 @@
+package com.bangbang.matching.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class RematchJobConflictException extends RuntimeException {
+    
+    public RematchJobConflictException(String message) {
+        super(message);
+    }
+}
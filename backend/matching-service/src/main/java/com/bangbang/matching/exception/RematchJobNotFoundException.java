@@ -0,0 +1,12 @@
+package com.bangbang.matching.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class RematchJobNotFoundException extends RuntimeException {
+    
+    public RematchJobNotFoundException(String message) {
+        super(message);
+    }
+}
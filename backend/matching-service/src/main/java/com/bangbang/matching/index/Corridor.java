@@ -0,0 +1,70 @@
+package com.bangbang.matching.index;
+
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Open listings of a single corridor.
+ * Journeys are bucketed by departure day and demands by deadline day, so a lookup takes
+ * exactly the days that can possibly match and never looks at the rest.
+ */
+final class Corridor {
+
+    private final DayBuckets<Long, JourneyDto> journeysByDeparture = new DayBuckets<>(JourneyDto::getId);
+    private final DayBuckets<String, DemandDto> demandsByDeadline = new DayBuckets<>(DemandDto::getId);
+
+    void putJourney(JourneyDto journey) {
+        journeysByDeparture.put(journey, journey.getDepartureDate().toEpochDay());
+    }
+
+    void removeJourney(Long journeyId) {
+        journeysByDeparture.remove(journeyId);
+    }
+
+    void putDemand(DemandDto demand) {
+        demandsByDeadline.put(demand, demand.getDeadline().toEpochDay());
+    }
+
+    void removeDemand(String demandId) {
+        demandsByDeadline.remove(demandId);
+    }
+
+    /**
+     * Journeys departing strictly before the given deadline, in departure order
+     */
+    List<JourneyDto> journeysDepartingBefore(LocalDate deadline) {
+        return journeysByDeparture.before(deadline.toEpochDay());
+    }
+
+    /**
+     * Demands whose deadline is strictly after the given departure date, in deadline order
+     */
+    List<DemandDto> demandsWithDeadlineAfter(LocalDate departureDate) {
+        return demandsByDeadline.from(departureDate.toEpochDay() + 1);
+    }
+
+    /**
+     * All journeys, in departure order
+     */
+    List<JourneyDto> journeys() {
+        return journeysByDeparture.all();
+    }
+
+    /**
+     * All demands, in deadline order
+     */
+    List<DemandDto> demands() {
+        return demandsByDeadline.all();
+    }
+
+    int journeyCount() {
+        return journeysByDeparture.size();
+    }
+
+    int demandCount() {
+        return demandsByDeadline.size();
+    }
+}
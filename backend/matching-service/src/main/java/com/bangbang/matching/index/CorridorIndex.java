@@ -0,0 +1,435 @@
+package com.bangbang.matching.index;
+
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Resident index of open listings (ACTIVE journeys and PENDING demands) keyed by corridor.
+ * A candidate search only touches the corridor of the listing being matched and the date
+ * range that can satisfy it, instead of scanning every open listing over the network.
+ * The index is maintained incrementally through upserts and removals. Listings passed in are
+ * interned by {@link LocationInterner}, so corridors are looked up by location ids.
+ * Corridors between geocoded cities are also filed under their (origin cell, destination cell)
+ * geohash pair, so a proximity search visits the corridors in the cells around both ends
+ * instead of every corridor. Proximity search only covers this replica's index and is
+ * therefore off while sharding is enabled, see {@link LocationInterner#isProximityEnabled}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CorridorIndex {
+
+    private static final String ACTIVE_JOURNEY = "ACTIVE";
+    private static final String PENDING_DEMAND = "PENDING";
+
+    private final LocationInterner locationInterner;
+
+    private final ConcurrentMap<CorridorKey, Corridor> corridors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, CorridorKey> journeyCorridors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CorridorKey> demandCorridors = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<CorridorKey>> corridorsByCells = new ConcurrentHashMap<>();
+
+    // Listings changed since beginReconcile; null outside a reconciliation. Guarded by this.
+    private Set<Long> journeysChanged;
+    private Set<String> demandsChanged;
+
+    /**
+     * Add or refresh a journey. Journeys that are no longer open are removed.
+     */
+    public synchronized void upsertJourney(JourneyDto journey) {
+        markChanged(journeysChanged, journey.getId());
+        putJourney(journey);
+    }
+
+    public synchronized void removeJourney(Long journeyId) {
+        markChanged(journeysChanged, journeyId);
+        dropJourney(journeyId);
+    }
+
+    /**
+     * Add or refresh a demand. Demands that are no longer open are removed.
+     */
+    public synchronized void upsertDemand(DemandDto demand) {
+        markChanged(demandsChanged, demand.getId());
+        putDemand(demand);
+    }
+
+    public synchronized void removeDemand(String demandId) {
+        markChanged(demandsChanged, demandId);
+        dropDemand(demandId);
+    }
+
+    /**
+     * Journeys on the demand's corridor, or on corridors whose ends are both near the
+     * demand's, that depart before its deadline, in departure order across all corridors.
+     * The demand is interned as a side effect, so it can be scored against the result.
+     */
+    public List<JourneyDto> findJourneysForDemand(DemandDto demand) {
+        CorridorKey key = CorridorKey.forDemand(locationInterner.intern(demand));
+        if (demand.getDeadline() == null) {
+            return Collections.emptyList();
+        }
+        List<Corridor> nearby = nearbyCorridors(key);
+        if (nearby.size() == 1) {
+            return nearby.get(0).journeysDepartingBefore(demand.getDeadline());
+        }
+        List<List<JourneyDto>> runs = new ArrayList<>(nearby.size());
+        for (Corridor corridor : nearby) {
+            runs.add(corridor.journeysDepartingBefore(demand.getDeadline()));
+        }
+        return mergeByDate(runs, JourneyDto::getDepartureDate);
+    }
+
+    /**
+     * Demands on the journey's corridor, or on corridors whose ends are both near the
+     * journey's, whose deadline is after its departure, in deadline order across all corridors.
+     * The journey is interned as a side effect, so it can be scored against the result.
+     */
+    public List<DemandDto> findDemandsForJourney(JourneyDto journey) {
+        CorridorKey key = CorridorKey.forJourney(locationInterner.intern(journey));
+        if (journey.getDepartureDate() == null) {
+            return Collections.emptyList();
+        }
+        List<Corridor> nearby = nearbyCorridors(key);
+        if (nearby.size() == 1) {
+            return nearby.get(0).demandsWithDeadlineAfter(journey.getDepartureDate());
+        }
+        List<List<DemandDto>> runs = new ArrayList<>(nearby.size());
+        for (Corridor corridor : nearby) {
+            runs.add(corridor.demandsWithDeadlineAfter(journey.getDepartureDate()));
+        }
+        return mergeByDate(runs, DemandDto::getDeadline);
+    }
+
+    /**
+     * Corridor of a listing; the listing is interned as a side effect
+     */
+    public CorridorKey corridorOf(DemandDto demand) {
+        return CorridorKey.forDemand(locationInterner.intern(demand));
+    }
+
+    public CorridorKey corridorOf(JourneyDto journey) {
+        return CorridorKey.forJourney(locationInterner.intern(journey));
+    }
+
+    public List<CorridorKey> corridorKeys() {
+        return new ArrayList<>(corridors.keySet());
+    }
+
+    /**
+     * Journeys on a corridor, in departure order
+     */
+    public List<JourneyDto> journeysOn(CorridorKey key) {
+        Corridor corridor = corridors.get(key);
+        return corridor == null ? Collections.emptyList() : corridor.journeys();
+    }
+
+    /**
+     * Demands on a corridor, in deadline order
+     */
+    public List<DemandDto> demandsOn(CorridorKey key) {
+        Corridor corridor = corridors.get(key);
+        return corridor == null ? Collections.emptyList() : corridor.demands();
+    }
+
+    /**
+     * Start recording the listings changed through upserts and removals. Call this before
+     * fetching the snapshot for {@link #reconcile}: listings changed in the meantime are newer
+     * than the snapshot, and reconcile leaves them as they are.
+     */
+    public synchronized void beginReconcile() {
+        journeysChanged = new HashSet<>();
+        demandsChanged = new HashSet<>();
+    }
+
+    public synchronized void endReconcile() {
+        journeysChanged = null;
+        demandsChanged = null;
+    }
+
+    /**
+     * Reconcile the index with a full snapshot of open listings: upsert everything in the
+     * snapshot and drop entries that are no longer present, skipping listings changed since
+     * {@link #beginReconcile}. Each listing is checked and applied under the index lock, so an
+     * event for it is applied either entirely before or entirely after.
+     */
+    public void reconcile(Collection<JourneyDto> activeJourneys, Collection<DemandDto> pendingDemands) {
+        Set<Long> journeyIds = new HashSet<>();
+        for (JourneyDto journey : activeJourneys) {
+            synchronized (this) {
+                if (!isChanged(journeysChanged, journey.getId())) {
+                    putJourney(journey);
+                }
+            }
+            journeyIds.add(journey.getId());
+        }
+        for (Long journeyId : new ArrayList<>(journeyCorridors.keySet())) {
+            if (!journeyIds.contains(journeyId)) {
+                synchronized (this) {
+                    if (!isChanged(journeysChanged, journeyId)) {
+                        dropJourney(journeyId);
+                    }
+                }
+            }
+        }
+
+        Set<String> demandIds = new HashSet<>();
+        for (DemandDto demand : pendingDemands) {
+            synchronized (this) {
+                if (!isChanged(demandsChanged, demand.getId())) {
+                    putDemand(demand);
+                }
+            }
+            demandIds.add(demand.getId());
+        }
+        for (String demandId : new ArrayList<>(demandCorridors.keySet())) {
+            if (!demandIds.contains(demandId)) {
+                synchronized (this) {
+                    if (!isChanged(demandsChanged, demandId)) {
+                        dropDemand(demandId);
+                    }
+                }
+            }
+        }
+
+        log.info("Corridor index reconciled: {} corridors, {} journeys, {} demands, {} locations",
+                corridors.size(), journeyCorridors.size(), demandCorridors.size(), locationInterner.size());
+    }
+
+    /**
+     * Journeys on the corridor and the corridors near it, i.e. what a demand search looks at
+     * before its date cut
+     */
+    public int journeyCountNear(CorridorKey key) {
+        int count = 0;
+        for (Corridor corridor : nearbyCorridors(key)) {
+            count += corridor.journeyCount();
+        }
+        return count;
+    }
+
+    public int demandCountNear(CorridorKey key) {
+        int count = 0;
+        for (Corridor corridor : nearbyCorridors(key)) {
+            count += corridor.demandCount();
+        }
+        return count;
+    }
+
+    public int corridorCount() {
+        return corridors.size();
+    }
+
+    public int journeyCount() {
+        return journeyCorridors.size();
+    }
+
+    public int demandCount() {
+        return demandCorridors.size();
+    }
+
+    private void putJourney(JourneyDto journey) {
+        if (!isIndexable(journey)) {
+            if (journey.getId() != null) {
+                dropJourney(journey.getId());
+            }
+            return;
+        }
+        CorridorKey key = CorridorKey.forJourney(locationInterner.intern(journey));
+        CorridorKey previous = journeyCorridors.put(journey.getId(), key);
+        if (previous != null && !previous.equals(key)) {
+            corridor(previous).removeJourney(journey.getId());
+        }
+        corridor(key).putJourney(compact(journey));
+    }
+
+    private void dropJourney(Long journeyId) {
+        CorridorKey key = journeyCorridors.remove(journeyId);
+        if (key != null) {
+            corridor(key).removeJourney(journeyId);
+        }
+    }
+
+    private void putDemand(DemandDto demand) {
+        if (!isIndexable(demand)) {
+            if (demand.getId() != null) {
+                dropDemand(demand.getId());
+            }
+            return;
+        }
+        CorridorKey key = CorridorKey.forDemand(locationInterner.intern(demand));
+        CorridorKey previous = demandCorridors.put(demand.getId(), key);
+        if (previous != null && !previous.equals(key)) {
+            corridor(previous).removeDemand(demand.getId());
+        }
+        corridor(key).putDemand(compact(demand));
+    }
+
+    private void dropDemand(String demandId) {
+        CorridorKey key = demandCorridors.remove(demandId);
+        if (key != null) {
+            corridor(key).removeDemand(demandId);
+        }
+    }
+
+    private static <K> void markChanged(Set<K> changed, K id) {
+        if (changed != null && id != null) {
+            changed.add(id);
+        }
+    }
+
+    private static <K> boolean isChanged(Set<K> changed, K id) {
+        return changed != null && changed.contains(id);
+    }
+
+    private Corridor corridor(CorridorKey key) {
+        Corridor corridor = corridors.get(key);
+        return corridor != null ? corridor : corridors.computeIfAbsent(key, k -> {
+            long originCell = locationInterner.cellOf(k.getOriginLocationId());
+            long destinationCell = locationInterner.cellOf(k.getDestinationLocationId());
+            if (originCell >= 0 && destinationCell >= 0) {
+                corridorsByCells.computeIfAbsent(cellPair(originCell, destinationCell),
+                        pair -> ConcurrentHashMap.newKeySet()).add(k);
+            }
+            return new Corridor();
+        });
+    }
+
+    /**
+     * The corridor itself plus every indexed corridor whose origin and destination are both
+     * within the proximity radius of the key's. Candidate corridors come from the geohash
+     * cells around both ends; the exact distance is then checked once per corridor.
+     */
+    private List<Corridor> nearbyCorridors(CorridorKey key) {
+        List<Corridor> nearby = new ArrayList<>();
+        Corridor own = corridors.get(key);
+        if (own != null) {
+            nearby.add(own);
+        }
+        long[] originCells = locationInterner.nearbyCells(key.getOriginLocationId());
+        long[] destinationCells = locationInterner.nearbyCells(key.getDestinationLocationId());
+        for (long originCell : originCells) {
+            for (long destinationCell : destinationCells) {
+                Set<CorridorKey> keys = corridorsByCells.get(cellPair(originCell, destinationCell));
+                if (keys == null) {
+                    continue;
+                }
+                for (CorridorKey candidate : keys) {
+                    if (!candidate.equals(key)
+                            && locationInterner.isNearby(key.getOriginLocationId(), candidate.getOriginLocationId())
+                            && locationInterner.isNearby(key.getDestinationLocationId(), candidate.getDestinationLocationId())) {
+                        nearby.add(corridors.get(candidate));
+                    }
+                }
+            }
+        }
+        return nearby;
+    }
+
+    /**
+     * K-way merge of per-corridor lists that are each sorted by date
+     */
+    private static <T> List<T> mergeByDate(List<List<T>> runs, Function<T, LocalDate> dateOf) {
+        int total = 0;
+        for (List<T> run : runs) {
+            total += run.size();
+        }
+        List<T> merged = new ArrayList<>(total);
+        // Cursor: {run, position within the run}
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(1, runs.size()),
+                Comparator.comparing((int[] cursor) -> dateOf.apply(runs.get(cursor[0]).get(cursor[1]))));
+        for (int run = 0; run < runs.size(); run++) {
+            if (!runs.get(run).isEmpty()) {
+                heads.add(new int[]{run, 0});
+            }
+        }
+        while (!heads.isEmpty()) {
+            int[] cursor = heads.poll();
+            List<T> run = runs.get(cursor[0]);
+            merged.add(run.get(cursor[1]));
+            if (++cursor[1] < run.size()) {
+                heads.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    private static long cellPair(long originCell, long destinationCell) {
+        return (originCell << GeoHash.CELL_BITS) | destinationCell;
+    }
+
+    /**
+     * Copy of the journey without free text, which matching never reads.
+     * Preferred item types are kept as their mask only.
+     */
+    private static JourneyDto compact(JourneyDto journey) {
+        return JourneyDto.builder()
+                .id(journey.getId())
+                .userId(journey.getUserId())
+                .fromCountry(journey.getFromCountry())
+                .fromCity(journey.getFromCity())
+                .toCountry(journey.getToCountry())
+                .toCity(journey.getToCity())
+                .departureDate(journey.getDepartureDate())
+                .arrivalDate(journey.getArrivalDate())
+                .availableWeight(journey.getAvailableWeight())
+                .availableVolume(journey.getAvailableVolume())
+                .preferredItemTypeMask(journey.getPreferredItemTypeMask())
+                .status(journey.getStatus())
+                .updatedAt(journey.getUpdatedAt())
+                .fromLocationId(journey.getFromLocationId())
+                .toLocationId(journey.getToLocationId())
+                .build();
+    }
+
+    /**
+     * Copy of the demand without free text, which matching never reads
+     */
+    private static DemandDto compact(DemandDto demand) {
+        return DemandDto.builder()
+                .id(demand.getId())
+                .userId(demand.getUserId())
+                .itemType(demand.getItemType())
+                .weightKg(demand.getWeightKg())
+                .originCountry(demand.getOriginCountry())
+                .originCity(demand.getOriginCity())
+                .destinationCountry(demand.getDestinationCountry())
+                .destinationCity(demand.getDestinationCity())
+                .deadline(demand.getDeadline())
+                .rewardAmount(demand.getRewardAmount())
+                .status(demand.getStatus())
+                .updatedAt(demand.getUpdatedAt())
+                .originLocationId(demand.getOriginLocationId())
+                .destinationLocationId(demand.getDestinationLocationId())
+                .itemTypeBit(demand.getItemTypeBit())
+                .build();
+    }
+
+    private boolean isIndexable(JourneyDto journey) {
+        return journey.getId() != null
+                && ACTIVE_JOURNEY.equals(journey.getStatus())
+                && journey.getDepartureDate() != null;
+    }
+
+    private boolean isIndexable(DemandDto demand) {
+        return demand.getId() != null
+                && PENDING_DEMAND.equals(demand.getStatus())
+                && demand.getDeadline() != null;
+    }
+}
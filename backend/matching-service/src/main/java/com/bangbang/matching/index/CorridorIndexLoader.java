@@ -0,0 +1,91 @@
+package com.bangbang.matching.index;
+
+import com.bangbang.matching.client.DemandServiceClient;
+import com.bangbang.matching.client.JourneyServiceClient;
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.DemandPage;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.shard.CorridorOwnershipChangedEvent;
+import com.bangbang.matching.shard.CorridorRing;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Warms up the corridor index on startup and periodically reconciles it with the
+ * demand and journey services to repair any drift from missed updates.
+ * With sharding enabled only the corridors owned by this replica are loaded, and the index
+ * is reconciled again whenever replicas join or leave.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CorridorIndexLoader {
+
+    private final CorridorIndex corridorIndex;
+    private final DemandServiceClient demandServiceClient;
+    private final JourneyServiceClient journeyServiceClient;
+    private final MatchingProperties matchingProperties;
+    private final CorridorRing corridorRing;
+
+    // Ahead of other startup listeners, which expect a populated index
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void warmUp() {
+        if (matchingProperties.getIndex().isWarmUpOnStartup()) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${matching.index.reconcile-interval-ms:900000}",
+            fixedDelayString = "${matching.index.reconcile-interval-ms:900000}")
+    public synchronized void reconcile() {
+        // Events arriving while the snapshot is fetched are newer than it and must survive
+        corridorIndex.beginReconcile();
+        try {
+            List<JourneyDto> activeJourneys = journeyServiceClient.getJourneysByStatus("ACTIVE").stream()
+                    .filter(corridorRing::isLocal)
+                    .collect(Collectors.toList());
+            List<DemandDto> pendingDemands = loadPendingDemands();
+            corridorIndex.reconcile(activeJourneys, pendingDemands);
+        } catch (Exception e) {
+            log.error("Error reconciling corridor index", e);
+        } finally {
+            corridorIndex.endReconcile();
+        }
+    }
+
+    /**
+     * Page through the pending demands so no single response has to hold all of them,
+     * keeping only the ones this replica owns
+     */
+    private List<DemandDto> loadPendingDemands() {
+        List<DemandDto> pendingDemands = new ArrayList<>();
+        String cursor = null;
+        do {
+            DemandPage page = demandServiceClient.searchDemandsPage(
+                    null, null, null, null, null, null, "PENDING", cursor, matchingProperties.getIndex().getPageSize());
+            page.getItems().stream()
+                    .filter(corridorRing::isLocal)
+                    .forEach(pendingDemands::add);
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return pendingDemands;
+    }
+
+    @EventListener
+    public void onOwnershipChanged(CorridorOwnershipChangedEvent event) {
+        log.info("Ring changed from {} to {}, rebalancing corridor index", event.getPreviousMembers(), event.getMembers());
+        reconcile();
+    }
+}
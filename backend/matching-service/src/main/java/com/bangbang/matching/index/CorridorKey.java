@@ -0,0 +1,40 @@
+package com.bangbang.matching.index;
+
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * (origin, destination) key of a corridor, expressed as interned location ids.
+ * Listings must have gone through {@link LocationInterner} before a key is derived from them.
+ */
+@Getter
+@EqualsAndHashCode
+public final class CorridorKey {
+
+    private final int originLocationId;
+    private final int destinationLocationId;
+
+    private CorridorKey(int originLocationId, int destinationLocationId) {
+        this.originLocationId = originLocationId;
+        this.destinationLocationId = destinationLocationId;
+    }
+
+    public static CorridorKey of(int originLocationId, int destinationLocationId) {
+        return new CorridorKey(originLocationId, destinationLocationId);
+    }
+
+    public static CorridorKey forDemand(DemandDto demand) {
+        return of(demand.getOriginLocationId(), demand.getDestinationLocationId());
+    }
+
+    public static CorridorKey forJourney(JourneyDto journey) {
+        return of(journey.getFromLocationId(), journey.getToLocationId());
+    }
+
+    @Override
+    public String toString() {
+        return originLocationId + " -> " + destinationLocationId;
+    }
+}
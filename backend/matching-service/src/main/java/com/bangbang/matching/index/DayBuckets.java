@@ -0,0 +1,101 @@
+package com.bangbang.matching.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+/**
+ * Listings grouped into one bucket per epoch day, buckets sorted by day.
+ * A date-bounded lookup slices whole days out of the skip list and copies them, so no
+ * listing is compared against the bound individually. Buckets are immutable, id-ordered
+ * lists replaced on write: reads are lock-free, writes are serialized.
+ */
+final class DayBuckets<K extends Comparable<? super K>, V> {
+
+    private final ConcurrentSkipListMap<Long, List<V>> buckets = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<K, Long> days = new ConcurrentHashMap<>();
+    private final Function<V, K> idOf;
+    private final Comparator<V> byId;
+
+    DayBuckets(Function<V, K> idOf) {
+        this.idOf = idOf;
+        this.byId = Comparator.comparing(idOf);
+    }
+
+    synchronized void put(V value, long epochDay) {
+        K id = idOf.apply(value);
+        Long previousDay = days.put(id, epochDay);
+        if (previousDay != null && previousDay != epochDay) {
+            removeFromBucket(previousDay, id);
+        }
+        List<V> bucket = new ArrayList<>(buckets.getOrDefault(epochDay, Collections.emptyList()));
+        int position = Collections.binarySearch(bucket, value, byId);
+        if (position >= 0) {
+            bucket.set(position, value);
+        } else {
+            bucket.add(-position - 1, value);
+        }
+        buckets.put(epochDay, Collections.unmodifiableList(bucket));
+    }
+
+    synchronized void remove(K id) {
+        Long epochDay = days.remove(id);
+        if (epochDay != null) {
+            removeFromBucket(epochDay, id);
+        }
+    }
+
+    /**
+     * Listings of the days strictly before the given day, in day order
+     */
+    List<V> before(long epochDay) {
+        return flatten(buckets.headMap(epochDay, false).values());
+    }
+
+    /**
+     * Listings of the given day and every day after it, in day order
+     */
+    List<V> from(long epochDay) {
+        return flatten(buckets.tailMap(epochDay, true).values());
+    }
+
+    List<V> all() {
+        return flatten(buckets.values());
+    }
+
+    int size() {
+        return days.size();
+    }
+
+    private void removeFromBucket(long epochDay, K id) {
+        List<V> bucket = buckets.get(epochDay);
+        if (bucket == null) {
+            return;
+        }
+        List<V> remaining = new ArrayList<>(bucket.size());
+        for (V value : bucket) {
+            if (!idOf.apply(value).equals(id)) {
+                remaining.add(value);
+            }
+        }
+        if (remaining.isEmpty()) {
+            buckets.remove(epochDay);
+        } else {
+            buckets.put(epochDay, Collections.unmodifiableList(remaining));
+        }
+    }
+
+    private static <V> List<V> flatten(Collection<List<V>> dayBuckets) {
+        List<V> result = new ArrayList<>();
+        for (List<V> bucket : dayBuckets) {
+            result.addAll(bucket);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,70 @@
+package com.bangbang.matching.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Offline coordinates of known cities, loaded once from the bundled gazetteer/cities.csv.
+ * Locations are keyed the same way as in {@link LocationInterner}, so spelling and case
+ * differences resolve to the same city.
+ */
+@Component
+@Slf4j
+public class Gazetteer {
+
+    private static final String RESOURCE = "/gazetteer/cities.csv";
+
+    private final Map<String, double[]> coordinates;
+
+    public Gazetteer() {
+        this.coordinates = load();
+        log.info("Loaded {} gazetteer locations", coordinates.size());
+    }
+
+    /**
+     * Latitude and longitude of a location, or null when it is not in the gazetteer
+     */
+    public double[] coordinatesOf(String country, String city) {
+        return coordinates.get(LocationInterner.locationKey(country, city));
+    }
+
+    public int size() {
+        return coordinates.size();
+    }
+
+    private static Map<String, double[]> load() {
+        Map<String, double[]> coordinates = new HashMap<>();
+        InputStream in = Gazetteer.class.getResourceAsStream(RESOURCE);
+        if (in == null) {
+            return coordinates;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            boolean header = true;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                String[] fields = line.split(",");
+                coordinates.put(LocationInterner.locationKey(fields[0], fields[1]),
+                        new double[] {Double.parseDouble(fields[2]), Double.parseDouble(fields[3])});
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + RESOURCE, e);
+        }
+        return coordinates;
+    }
+}
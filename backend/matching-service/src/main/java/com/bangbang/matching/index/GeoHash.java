@@ -0,0 +1,85 @@
+package com.bangbang.matching.index;
+
+/**
+ * Geohash cells and great-circle distances for proximity matching.
+ * Cells are 18-bit geohashes (9 bits of longitude interleaved with 9 bits of latitude),
+ * about 39 km tall and 78 km wide at the equator, so a metropolitan area spans a handful
+ * of cells and a radius query only visits the cells around a point.
+ */
+public final class GeoHash {
+
+    public static final int CELL_BITS = 18;
+
+    private static final int AXIS_BITS = CELL_BITS / 2;
+    private static final int AXIS_CELLS = 1 << AXIS_BITS;
+    private static final double LAT_STEP = 180.0 / AXIS_CELLS;
+    private static final double LON_STEP = 360.0 / AXIS_CELLS;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private GeoHash() {
+    }
+
+    public static long cellOf(double latitude, double longitude) {
+        return interleave(lonIndex(longitude), latIndex(latitude));
+    }
+
+    /**
+     * Cells that may contain a point within the radius of the given point. Longitude wraps
+     * around the antimeridian; latitude is clamped at the poles.
+     */
+    public static long[] cellsWithin(double latitude, double longitude, double radiusKm) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(Math.min(89.0, Math.abs(latitude))));
+        double lonDelta = Math.min(180.0, radiusKm / (KM_PER_DEGREE * cosLat));
+
+        int latFrom = latIndex(latitude - latDelta);
+        int latTo = latIndex(latitude + latDelta);
+        int lonFrom = (int) Math.floor((longitude - lonDelta + 180.0) / LON_STEP);
+        int lonTo = (int) Math.floor((longitude + lonDelta + 180.0) / LON_STEP);
+        int lonCount = Math.min(AXIS_CELLS, lonTo - lonFrom + 1);
+
+        long[] cells = new long[(latTo - latFrom + 1) * lonCount];
+        int next = 0;
+        for (int lat = latFrom; lat <= latTo; lat++) {
+            for (int i = 0; i < lonCount; i++) {
+                cells[next++] = interleave(Math.floorMod(lonFrom + i, AXIS_CELLS), lat);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Haversine distance in kilometres
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static int latIndex(double latitude) {
+        return clamp((int) Math.floor((latitude + 90.0) / LAT_STEP));
+    }
+
+    private static int lonIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180.0) / LON_STEP), AXIS_CELLS);
+    }
+
+    private static int clamp(int index) {
+        return Math.max(0, Math.min(AXIS_CELLS - 1, index));
+    }
+
+    // Geohash bit order: longitude bit first, then latitude, most significant first
+    private static long interleave(int lonIndex, int latIndex) {
+        long cell = 0;
+        for (int bit = AXIS_BITS - 1; bit >= 0; bit--) {
+            cell = (cell << 1) | ((lonIndex >> bit) & 1);
+            cell = (cell << 1) | ((latIndex >> bit) & 1);
+        }
+        return cell;
+    }
+}
@@ -0,0 +1,227 @@
+package com.bangbang.matching.index;
+
+import com.bangbang.common.core.model.ItemType;
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Maps (country, city) pairs to compact integer ids.
+ * Locations are trimmed and lower-cased once when a listing enters the matching engine;
+ * from then on route checks and corridor lookups compare ints instead of case folding
+ * strings per candidate. Raw spellings are pooled as well, so a million listings on the
+ * same corridor share a handful of String instances.
+ * Locations found in the {@link Gazetteer} are placed when their id is assigned, so
+ * proximity checks between two ids are array lookups and a distance computation.
+ */
+@Component
+public class LocationInterner {
+
+    /**
+     * Id carried by listings that have not been interned yet
+     */
+    public static final int UNKNOWN = 0;
+
+    private final ConcurrentMap<String, Integer> locationIds = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> spellings = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger(UNKNOWN + 1);
+
+    private final Gazetteer gazetteer;
+    private final MatchingProperties.Proximity proximity;
+    private final MatchingProperties.Sharding sharding;
+
+    // Coordinates by location id, NaN for locations missing from the gazetteer; grown on demand
+    private volatile double[] latitudes = new double[0];
+    private volatile double[] longitudes = new double[0];
+
+    public LocationInterner(Gazetteer gazetteer, MatchingProperties matchingProperties) {
+        this.gazetteer = gazetteer;
+        this.proximity = matchingProperties.getProximity();
+        this.sharding = matchingProperties.getSharding();
+    }
+
+    /**
+     * Id of a city, interned together with its country so that equal city names in
+     * different countries stay distinct
+     */
+    public int locationId(String country, String city) {
+        String key = locationKey(country, city);
+        Integer id = locationIds.get(key);
+        return id != null ? id : locationIds.computeIfAbsent(key, k -> place(nextId.getAndIncrement(), country, city));
+    }
+
+    public boolean isGeocoded(int locationId) {
+        double[] current = latitudes;
+        return locationId < current.length && !Double.isNaN(current[locationId]);
+    }
+
+    /**
+     * Great-circle distance between two locations; 0 for the same location and infinite
+     * when either one is not geocoded
+     */
+    public double distanceKm(int from, int to) {
+        if (from == to) {
+            return 0.0;
+        }
+        if (!isGeocoded(from) || !isGeocoded(to)) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return GeoHash.distanceKm(latitudes[from], longitudes[from], latitudes[to], longitudes[to]);
+    }
+
+    /**
+     * Whether two locations are the same or, with proximity matching on, within its radius
+     */
+    public boolean isNearby(int from, int to) {
+        return from == to || (isProximityEnabled() && distanceKm(from, to) <= proximity.getRadiusKm());
+    }
+
+    /**
+     * Fraction of the proximity radius left between two locations: 1 for the same location,
+     * falling to 0 at the radius
+     */
+    public double closeness(int from, int to) {
+        if (from == to) {
+            return 1.0;
+        }
+        if (!isProximityEnabled() || proximity.getRadiusKm() <= 0) {
+            return 0.0;
+        }
+        return Math.max(0.0, 1.0 - distanceKm(from, to) / proximity.getRadiusKm());
+    }
+
+    /**
+     * Geohash cells within the proximity radius of a location, or none when proximity
+     * matching is off or the location is not geocoded
+     */
+    public long[] nearbyCells(int locationId) {
+        if (!isProximityEnabled() || !isGeocoded(locationId)) {
+            return new long[0];
+        }
+        return GeoHash.cellsWithin(latitudes[locationId], longitudes[locationId], proximity.getRadiusKm());
+    }
+
+    /**
+     * Proximity matching is best-effort and off while sharding is on: replicas own corridors
+     * by exact city names, so the corridors near a listing's ends usually sit on other
+     * replicas and a search of the local index would see an arbitrary subset of them.
+     */
+    public boolean isProximityEnabled() {
+        return proximity.isEnabled() && !sharding.isEnabled();
+    }
+
+    /**
+     * Geohash cell of a location, or -1 when it is not geocoded
+     */
+    public long cellOf(int locationId) {
+        return isGeocoded(locationId) ? GeoHash.cellOf(latitudes[locationId], longitudes[locationId]) : -1L;
+    }
+
+    /**
+     * Assign location ids and the item type bit to a demand and replace its location strings
+     * with pooled instances. A demand already interned is only read, never written, so
+     * listings shared between threads, like those held by ListingCache, can be interned again.
+     */
+    public DemandDto intern(DemandDto demand) {
+        String originCountry = spelling(demand.getOriginCountry());
+        String originCity = spelling(demand.getOriginCity());
+        String destinationCountry = spelling(demand.getDestinationCountry());
+        String destinationCity = spelling(demand.getDestinationCity());
+        int originLocationId = locationId(originCountry, originCity);
+        int destinationLocationId = locationId(destinationCountry, destinationCity);
+        long itemTypeBit = ItemType.bitOf(demand.getItemType());
+        if (originCountry != demand.getOriginCountry() || originCity != demand.getOriginCity()
+                || destinationCountry != demand.getDestinationCountry() || destinationCity != demand.getDestinationCity()
+                || originLocationId != demand.getOriginLocationId()
+                || destinationLocationId != demand.getDestinationLocationId()
+                || itemTypeBit != demand.getItemTypeBit()) {
+            demand.setOriginCountry(originCountry);
+            demand.setOriginCity(originCity);
+            demand.setDestinationCountry(destinationCountry);
+            demand.setDestinationCity(destinationCity);
+            demand.setOriginLocationId(originLocationId);
+            demand.setDestinationLocationId(destinationLocationId);
+            demand.setItemTypeBit(itemTypeBit);
+        }
+        return demand;
+    }
+
+    /**
+     * Assign location ids to a journey and replace its location strings with pooled instances.
+     * Journeys sent without an item type mask get one derived from their preferred type names.
+     * Like demands, a journey already interned is only read.
+     */
+    public JourneyDto intern(JourneyDto journey) {
+        String fromCountry = spelling(journey.getFromCountry());
+        String fromCity = spelling(journey.getFromCity());
+        String toCountry = spelling(journey.getToCountry());
+        String toCity = spelling(journey.getToCity());
+        int fromLocationId = locationId(fromCountry, fromCity);
+        int toLocationId = locationId(toCountry, toCity);
+        long preferredItemTypeMask = journey.getPreferredItemTypeMask() != 0L
+                ? journey.getPreferredItemTypeMask()
+                : ItemType.maskOf(journey.getPreferredItemTypes());
+        if (fromCountry != journey.getFromCountry() || fromCity != journey.getFromCity()
+                || toCountry != journey.getToCountry() || toCity != journey.getToCity()
+                || fromLocationId != journey.getFromLocationId() || toLocationId != journey.getToLocationId()
+                || preferredItemTypeMask != journey.getPreferredItemTypeMask()) {
+            journey.setFromCountry(fromCountry);
+            journey.setFromCity(fromCity);
+            journey.setToCountry(toCountry);
+            journey.setToCity(toCity);
+            journey.setFromLocationId(fromLocationId);
+            journey.setToLocationId(toLocationId);
+            journey.setPreferredItemTypeMask(preferredItemTypeMask);
+        }
+        return journey;
+    }
+
+    /**
+     * Normalized spelling of a location. Unlike its id, it is the same on every replica.
+     */
+    public static String locationKey(String country, String city) {
+        return normalize(country) + '\u0000' + normalize(city);
+    }
+
+    public int size() {
+        return locationIds.size();
+    }
+
+    private synchronized int place(int id, String country, String city) {
+        double[] coordinates = gazetteer.coordinatesOf(country, city);
+        double[] lats = latitudes;
+        double[] lons = longitudes;
+        if (id >= lats.length) {
+            int capacity = Math.max(id + 1, lats.length * 2);
+            lats = Arrays.copyOf(lats, capacity);
+            lons = Arrays.copyOf(lons, capacity);
+            Arrays.fill(lats, latitudes.length, capacity, Double.NaN);
+            Arrays.fill(lons, longitudes.length, capacity, Double.NaN);
+        }
+        lats[id] = coordinates != null ? coordinates[0] : Double.NaN;
+        lons[id] = coordinates != null ? coordinates[1] : Double.NaN;
+        // Publish longitudes first: readers check latitudes to decide a location is geocoded
+        longitudes = lons;
+        latitudes = lats;
+        return id;
+    }
+
+    private String spelling(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = spellings.putIfAbsent(value, value);
+        return pooled != null ? pooled : value;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -3,6 +3,7 @@ package com.bangbang.matching.mapper;
 import com.bangbang.matching.dto.MatchDto;
 import com.bangbang.matching.model.Match;
 import com.bangbang.matching.model.MatchStatus;
+import com.bangbang.matching.model.MatchView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
@@ -18,6 +19,31 @@ public interface MatchMapper {
     @Mapping(target = "status", source = "status", qualifiedByName = "stringToStatus")
     Match matchDtoToMatch(MatchDto matchDto);
 
+    @Mapping(target = "id", source = "matchId")
+    @Mapping(target = "status", source = "status", qualifiedByName = "statusToString")
+    @Mapping(target = "demand.id", source = "demandId")
+    @Mapping(target = "demand.userId", source = "demandUserId")
+    @Mapping(target = "demand.itemType", source = "demandItemType")
+    @Mapping(target = "demand.weightKg", source = "demandWeightKg")
+    @Mapping(target = "demand.originCountry", source = "demandOriginCountry")
+    @Mapping(target = "demand.originCity", source = "demandOriginCity")
+    @Mapping(target = "demand.destinationCountry", source = "demandDestinationCountry")
+    @Mapping(target = "demand.destinationCity", source = "demandDestinationCity")
+    @Mapping(target = "demand.deadline", source = "demandDeadline")
+    @Mapping(target = "demand.rewardAmount", source = "demandRewardAmount")
+    @Mapping(target = "demand.status", source = "demandStatus")
+    @Mapping(target = "journey.id", source = "journeyId")
+    @Mapping(target = "journey.userId", source = "journeyUserId")
+    @Mapping(target = "journey.fromCountry", source = "journeyFromCountry")
+    @Mapping(target = "journey.fromCity", source = "journeyFromCity")
+    @Mapping(target = "journey.toCountry", source = "journeyToCountry")
+    @Mapping(target = "journey.toCity", source = "journeyToCity")
+    @Mapping(target = "journey.departureDate", source = "journeyDepartureDate")
+    @Mapping(target = "journey.arrivalDate", source = "journeyArrivalDate")
+    @Mapping(target = "journey.availableWeight", source = "journeyAvailableWeight")
+    @Mapping(target = "journey.status", source = "journeyStatus")
+    MatchDto matchViewToMatchDto(MatchView matchView);
+
     @Named("statusToString")
     default String statusToString(MatchStatus status) {
         return status != null ? status.name() : null;
@@ -0,0 +1,32 @@
+package com.bangbang.matching.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Last change-feed sequence number a consumer has applied; consumption resumes right after it
+ */
+@Entity
+@Table(name = "feed_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeedCheckpoint {
+    @Id
+    @Column(length = 255)
+    private String consumer;
+
+    @Column(name = "last_sequence", nullable = false)
+    private long lastSequence;
+
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -8,10 +8,15 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import javax.persistence.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_matches_demand_journey", columnNames = {"demand_id", "journey_id"})
+}, indexes = {
+        @Index(name = "idx_matches_status_expires_on", columnList = "status, expires_on")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -46,6 +51,10 @@ public class Match {
     @Column(name = "traveler_confirmed")
     private Boolean travelerConfirmed;
 
+    // Earlier of the journey departure and the demand deadline; open matches past it are expired
+    @Column(name = "expires_on")
+    private LocalDate expiresOn;
+
     @Column(name = "matched_at")
     @CreationTimestamp
     private LocalDateTime matchedAt;
@@ -59,4 +68,9 @@ public class Match {
     @Column(name = "updated_at")
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    // Bumped by JPA and by every JDBC write, so a stale entity can never overwrite a transition
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long version;
 } 
\ No newline at end of file
@@ -6,5 +6,6 @@ public enum MatchStatus {
     CONFIRMED,   // Both parties have confirmed
     REJECTED,    // One or both parties rejected
     COMPLETED,   // The delivery was completed successfully
-    CANCELLED    // The match was cancelled after confirmation
+    CANCELLED,   // The match was cancelled after confirmation
+    EXPIRED      // Never confirmed before the journey departed or the demand deadline passed
 } 
\ No newline at end of file
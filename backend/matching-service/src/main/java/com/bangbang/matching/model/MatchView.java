@@ -0,0 +1,125 @@
+package com.bangbang.matching.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-optimized projection of a match together with the display fields of its demand and
+ * journey, so match listings are answered from one table without calling the demand and
+ * journey services. Written only by {@link com.bangbang.matching.service.MatchViewProjector}.
+ */
+@Entity
+@Table(name = "match_view", indexes = {
+        @Index(name = "idx_match_view_demand_user", columnList = "demand_user_id, matched_at"),
+        @Index(name = "idx_match_view_journey_user", columnList = "journey_user_id, matched_at"),
+        @Index(name = "idx_match_view_demand_user_status", columnList = "demand_user_id, status, matched_at"),
+        @Index(name = "idx_match_view_journey_user_status", columnList = "journey_user_id, status, matched_at"),
+        @Index(name = "idx_match_view_demand", columnList = "demand_id"),
+        @Index(name = "idx_match_view_journey", columnList = "journey_id")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchView {
+    @Id
+    @Column(name = "match_id")
+    private Long matchId;
+
+    @Column(name = "demand_id", nullable = false)
+    private String demandId;
+
+    @Column(name = "journey_id", nullable = false)
+    private Long journeyId;
+
+    @Column(name = "demand_user_id", nullable = false)
+    private String demandUserId;
+
+    @Column(name = "journey_user_id", nullable = false)
+    private Long journeyUserId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private MatchStatus status;
+
+    @Column(name = "match_score", nullable = false)
+    private Double matchScore;
+
+    @Column(name = "demander_confirmed")
+    private Boolean demanderConfirmed;
+
+    @Column(name = "traveler_confirmed")
+    private Boolean travelerConfirmed;
+
+    @Column(name = "matched_at")
+    private LocalDateTime matchedAt;
+
+    @Column(name = "confirmed_at")
+    private LocalDateTime confirmedAt;
+
+    @Column(name = "rejected_at")
+    private LocalDateTime rejectedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Demand snapshot
+    @Column(name = "demand_item_type", length = 50)
+    private String demandItemType;
+
+    @Column(name = "demand_weight_kg")
+    private Double demandWeightKg;
+
+    @Column(name = "demand_origin_country")
+    private String demandOriginCountry;
+
+    @Column(name = "demand_origin_city")
+    private String demandOriginCity;
+
+    @Column(name = "demand_destination_country")
+    private String demandDestinationCountry;
+
+    @Column(name = "demand_destination_city")
+    private String demandDestinationCity;
+
+    @Column(name = "demand_deadline")
+    private LocalDate demandDeadline;
+
+    @Column(name = "demand_reward_amount")
+    private BigDecimal demandRewardAmount;
+
+    @Column(name = "demand_status", length = 20)
+    private String demandStatus;
+
+    // Journey snapshot
+    @Column(name = "journey_from_country")
+    private String journeyFromCountry;
+
+    @Column(name = "journey_from_city")
+    private String journeyFromCity;
+
+    @Column(name = "journey_to_country")
+    private String journeyToCountry;
+
+    @Column(name = "journey_to_city")
+    private String journeyToCity;
+
+    @Column(name = "journey_departure_date")
+    private LocalDate journeyDepartureDate;
+
+    @Column(name = "journey_arrival_date")
+    private LocalDate journeyArrivalDate;
+
+    @Column(name = "journey_available_weight")
+    private Double journeyAvailableWeight;
+
+    @Column(name = "journey_status", length = 20)
+    private String journeyStatus;
+}
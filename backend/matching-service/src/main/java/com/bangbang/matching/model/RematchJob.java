@@ -0,0 +1,70 @@
+package com.bangbang.matching.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk rematch over all PENDING demands.
+ * The checkpoint is the id of the last demand whose chunk was committed; a resumed job
+ * continues right after it. A RUNNING job is leased to the replica executing it, which renews
+ * the lease with every chunk; another replica only takes the job over once the lease expired.
+ * With sharding enabled a job only rescores demands on corridors its replica owns; the
+ * others are counted as skipped rather than processed.
+ */
+@Entity
+@Table(name = "rematch_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RematchJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private RematchJobStatus status;
+
+    @Column(name = "last_demand_id")
+    private String lastDemandId;
+
+    @Column(name = "demands_processed", nullable = false)
+    private long demandsProcessed;
+
+    @Column(name = "demands_skipped", nullable = false)
+    private long demandsSkipped;
+
+    @Column(name = "matches_created", nullable = false)
+    private long matchesCreated;
+
+    @Column(name = "matches_rescored", nullable = false)
+    private long matchesRescored;
+
+    @Column(length = 100)
+    private String owner;
+
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "started_at")
+    @CreationTimestamp
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "updated_at")
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
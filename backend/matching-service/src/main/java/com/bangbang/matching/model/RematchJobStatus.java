@@ -0,0 +1,8 @@
+package com.bangbang.matching.model;
+
+public enum RematchJobStatus {
+    RUNNING,     // Walking the pending demands, or interrupted and waiting to resume
+    COMPLETED,   // Every pending demand was rescored
+    FAILED,      // Stopped on an error; can be resumed from its checkpoint
+    CANCELLED    // Stopped on request
+}
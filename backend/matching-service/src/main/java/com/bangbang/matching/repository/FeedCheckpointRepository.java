@@ -0,0 +1,9 @@
+package com.bangbang.matching.repository;
+
+import com.bangbang.matching.model.FeedCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FeedCheckpointRepository extends JpaRepository<FeedCheckpoint, String> {
+}
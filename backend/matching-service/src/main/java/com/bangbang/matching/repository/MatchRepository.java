@@ -7,17 +7,20 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface MatchRepository extends JpaRepository<Match, Long> {
+public interface MatchRepository extends JpaRepository<Match, Long>, MatchRepositoryCustom {
 
     List<Match> findByDemandUserId(String userId);
     
     List<Match> findByJourneyUserId(Long userId);
     
     List<Match> findByStatus(MatchStatus status);
+
+    long countByStatusIn(Collection<MatchStatus> statuses);
     
     List<Match> findByDemandId(String demandId);
     
@@ -42,6 +45,11 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
            "m.status IN ('PROPOSED', 'PENDING', 'CONFIRMED')")
     List<Match> findActiveMatchesByDemandId(@Param("demandId") String demandId);
     
+    @Query("SELECT m FROM Match m WHERE " +
+           "m.demandId IN :demandIds AND " +
+           "m.status IN ('PROPOSED', 'PENDING', 'CONFIRMED')")
+    List<Match> findActiveMatchesByDemandIdIn(@Param("demandIds") Collection<String> demandIds);
+    
     @Query("SELECT m FROM Match m WHERE " +
            "m.journeyId = :journeyId AND " +
            "m.status IN ('PROPOSED', 'PENDING', 'CONFIRMED')")
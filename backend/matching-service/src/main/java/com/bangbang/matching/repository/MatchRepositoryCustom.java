@@ -0,0 +1,95 @@
+package com.bangbang.matching.repository;
+
+import com.bangbang.matching.model.Match;
+import com.bangbang.matching.model.MatchStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bulk match writes and single-statement state transitions that go straight to JDBC
+ */
+public interface MatchRepositoryCustom {
+
+    /**
+     * Insert the matches in one round trip per few hundred rows, skipping any
+     * (demand, journey) pair that already has a match. A pair whose match EXPIRED is proposed
+     * again when its new expiry date is not past; REJECTED, CONFIRMED, COMPLETED and
+     * CANCELLED pairs are never proposed again.
+     *
+     * @return number of matches inserted or reopened
+     */
+    int insertIgnoringDuplicates(List<Match> matches);
+
+    /**
+     * Refresh the score and expiry date of matches that are still only proposed
+     *
+     * @return number of matches sent for update
+     */
+    int updateProposedScores(List<Match> matches);
+
+    /**
+     * Recompute the expiry date of a demand's PROPOSED and PENDING matches after its deadline
+     * changed, using the journey departures recorded in match_view
+     *
+     * @return number of matches whose expiry date moved
+     */
+    int updateExpiryForDemand(String demandId, LocalDate deadline);
+
+    /**
+     * Journey counterpart of {@link #updateExpiryForDemand}
+     */
+    int updateExpiryForJourney(Long journeyId, LocalDate departureDate);
+
+    /**
+     * Delete the given matches that are still PROPOSED, locking them first so a concurrent
+     * confirmation either lands before and keeps its match, or waits and finds it gone.
+     * Must run in a transaction.
+     *
+     * @return ids of the matches actually deleted
+     */
+    List<Long> deleteProposed(List<Long> matchIds);
+
+    /**
+     * Fill in the expiry date of up to {@code limit} PROPOSED or PENDING matches recorded
+     * before matches carried one, from the journey departure and demand deadline in match_view.
+     * Matches without a match_view row, or whose listings have no dates, are left alone.
+     *
+     * @return number of matches given an expiry date
+     */
+    int backfillExpiry(int limit);
+
+    /**
+     * Ids of PROPOSED or PENDING matches whose expiry date is before the given day, lowest first
+     */
+    List<Long> findExpiredOpenMatchIds(LocalDate today, int limit);
+
+    /**
+     * Move the given matches to EXPIRED in one statement, skipping any no longer open or
+     * whose expiry date moved to the given day or later since they were selected
+     *
+     * @return number of matches expired
+     */
+    int expireMatches(List<Long> matchIds, LocalDate today);
+
+    /**
+     * Record the demander's answer on a PROPOSED or PENDING match they own. Confirming moves
+     * the match to CONFIRMED if the traveler already confirmed and to PENDING otherwise;
+     * declining rejects it.
+     *
+     * @return false if the match does not exist, is not the user's or is no longer open
+     */
+    boolean confirmByDemander(Long matchId, String userId, boolean confirmed);
+
+    /**
+     * Traveler counterpart of {@link #confirmByDemander}
+     */
+    boolean confirmByTraveler(Long matchId, Long userId, boolean confirmed);
+
+    /**
+     * Move a match from one status to another
+     *
+     * @return false if the match does not exist or is not in the expected status
+     */
+    boolean transition(Long matchId, MatchStatus from, MatchStatus to);
+}
@@ -0,0 +1,255 @@
+package com.bangbang.matching.repository;
+
+import com.bangbang.matching.model.Match;
+import com.bangbang.matching.model.MatchStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link MatchRepositoryCustom}.
+ * Matches use IDENTITY ids, which keep Hibernate from batching inserts, and the unique
+ * (demand_id, journey_id) key lets the database do the deduplication, so concurrent
+ * matchers proposing the same pair no longer race.
+ */
+@RequiredArgsConstructor
+public class MatchRepositoryImpl implements MatchRepositoryCustom {
+
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    // IGNORE only swallows the duplicate key here: every NOT NULL column is always bound
+    private static final String INSERT_IGNORE_SQL =
+            "INSERT IGNORE INTO matches (demand_id, journey_id, demand_user_id, journey_user_id, status, match_score, " +
+            "demander_confirmed, traveler_confirmed, expires_on, matched_at, updated_at) VALUES ";
+
+    private static final String VALUES_ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String REOPEN_ROW = "SELECT ? AS demand_id, ? AS journey_id, ? AS match_score, ? AS expires_on";
+
+    // Pairs whose match expired are proposed afresh once their dates allow it again; a pair
+    // either party rejected, or that was confirmed, completed or cancelled, stays as it is
+    private static final String REOPEN_SQL =
+            "UPDATE matches m JOIN (%s) r ON m.demand_id = r.demand_id AND m.journey_id = r.journey_id " +
+            "SET m.match_score = r.match_score, m.expires_on = r.expires_on, m.demander_confirmed = FALSE, " +
+            "m.traveler_confirmed = FALSE, m.confirmed_at = NULL, m.rejected_at = NULL, m.matched_at = ?, " +
+            "m.updated_at = ?, m.version = m.version + 1, m.status = 'PROPOSED' " +
+            "WHERE m.status = 'EXPIRED' AND (r.expires_on IS NULL OR r.expires_on >= ?)";
+
+    private static final String UPDATE_SCORE_SQL =
+            "UPDATE matches SET match_score = ?, expires_on = ?, updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND status = 'PROPOSED'";
+
+    // Expiry is the earlier of departure and deadline; the other party's date comes from its
+    // match_view snapshot. Matches whose expiry does not move are left untouched.
+    private static final String EXPIRY_SQL =
+            "UPDATE matches m JOIN match_view v ON v.match_id = m.id " +
+            "SET m.expires_on = LEAST(?, COALESCE(v.%1$s, ?)), m.updated_at = ?, m.version = m.version + 1 " +
+            "WHERE m.%2$s = ? AND m.status IN ('PROPOSED', 'PENDING') " +
+            "AND NOT (m.expires_on <=> LEAST(?, COALESCE(v.%1$s, ?)))";
+
+    private static final String DEMAND_EXPIRY_SQL = String.format(EXPIRY_SQL, "journey_departure_date", "demand_id");
+
+    private static final String JOURNEY_EXPIRY_SQL = String.format(EXPIRY_SQL, "demand_deadline", "journey_id");
+
+    private static final String LOCK_PROPOSED_SQL =
+            "SELECT id FROM matches WHERE status = 'PROPOSED' AND id IN (%s) FOR UPDATE";
+
+    private static final String DELETE_PROPOSED_SQL =
+            "DELETE FROM matches WHERE status = 'PROPOSED' AND id IN (%s)";
+
+    // Served by idx_matches_status_expires_on; listings without any date have nothing to fill in
+    private static final String MISSING_EXPIRY_IDS_SQL =
+            "SELECT m.id FROM matches m JOIN match_view v ON v.match_id = m.id " +
+            "WHERE m.status IN ('PROPOSED', 'PENDING') AND m.expires_on IS NULL " +
+            "AND (v.demand_deadline IS NOT NULL OR v.journey_departure_date IS NOT NULL) ORDER BY m.id LIMIT ?";
+
+    // Expiry is the earlier of departure and deadline, or whichever of the two is known
+    private static final String BACKFILL_EXPIRY_SQL =
+            "UPDATE matches m JOIN match_view v ON v.match_id = m.id " +
+            "SET m.expires_on = LEAST(COALESCE(v.demand_deadline, v.journey_departure_date), " +
+            "COALESCE(v.journey_departure_date, v.demand_deadline)), m.updated_at = ?, m.version = m.version + 1 " +
+            "WHERE m.expires_on IS NULL AND m.status IN ('PROPOSED', 'PENDING') AND m.id IN (%s)";
+
+    // Served by idx_matches_status_expires_on
+    private static final String EXPIRED_IDS_SQL =
+            "SELECT id FROM matches WHERE status IN ('PROPOSED', 'PENDING') AND expires_on < ? ORDER BY id LIMIT ?";
+
+    // The guards keep a match confirmed, rejected or given a later expiry since it was selected as it is
+    private static final String EXPIRE_SQL =
+            "UPDATE matches SET status = 'EXPIRED', updated_at = ?, version = version + 1 " +
+            "WHERE status IN ('PROPOSED', 'PENDING') AND expires_on < ? AND id IN ";
+
+    // MySQL applies SET assignments left to right; the other party's flag is only read, never written
+    private static final String CONFIRM_SQL =
+            "UPDATE matches SET %1$s = TRUE, status = IF(%2$s, 'CONFIRMED', 'PENDING'), " +
+            "confirmed_at = IF(%2$s, ?, confirmed_at), updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND %3$s = ? AND status IN ('PROPOSED', 'PENDING')";
+
+    private static final String DEMANDER_CONFIRM_SQL =
+            String.format(CONFIRM_SQL, "demander_confirmed", "traveler_confirmed", "demand_user_id");
+
+    private static final String TRAVELER_CONFIRM_SQL =
+            String.format(CONFIRM_SQL, "traveler_confirmed", "demander_confirmed", "journey_user_id");
+
+    private static final String REJECT_SQL =
+            "UPDATE matches SET status = 'REJECTED', rejected_at = ?, updated_at = ?, version = version + 1 " +
+            "WHERE id = ? AND %s = ? AND status IN ('PROPOSED', 'PENDING')";
+
+    private static final String DEMANDER_REJECT_SQL = String.format(REJECT_SQL, "demand_user_id");
+
+    private static final String TRAVELER_REJECT_SQL = String.format(REJECT_SQL, "journey_user_id");
+
+    private static final String TRANSITION_SQL =
+            "UPDATE matches SET status = ?, updated_at = ?, version = version + 1 WHERE id = ? AND status = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int insertIgnoringDuplicates(List<Match> matches) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int inserted = 0;
+        for (int from = 0; from < matches.size(); from += ROWS_PER_STATEMENT) {
+            List<Match> rows = matches.subList(from, Math.min(matches.size(), from + ROWS_PER_STATEMENT));
+            // A single multi-row statement reports exactly how many rows were inserted
+            String sql = INSERT_IGNORE_SQL + String.join(", ", Collections.nCopies(rows.size(), VALUES_ROW));
+            List<Object> args = new ArrayList<>(rows.size() * 11);
+            for (Match match : rows) {
+                args.add(match.getDemandId());
+                args.add(match.getJourneyId());
+                args.add(match.getDemandUserId());
+                args.add(match.getJourneyUserId());
+                args.add(match.getStatus().name());
+                args.add(match.getMatchScore());
+                args.add(Boolean.TRUE.equals(match.getDemanderConfirmed()));
+                args.add(Boolean.TRUE.equals(match.getTravelerConfirmed()));
+                args.add(match.getExpiresOn() != null ? Date.valueOf(match.getExpiresOn()) : null);
+                args.add(now);
+                args.add(now);
+            }
+            int insertedRows = jdbcTemplate.update(sql, args.toArray());
+            inserted += insertedRows;
+            if (insertedRows < rows.size()) {
+                inserted += reopenExpired(rows, now);
+            }
+        }
+        return inserted;
+    }
+
+    private int reopenExpired(List<Match> rows, Timestamp now) {
+        String sql = String.format(REOPEN_SQL, String.join(" UNION ALL ", Collections.nCopies(rows.size(), REOPEN_ROW)));
+        List<Object> args = new ArrayList<>(rows.size() * 4 + 3);
+        for (Match match : rows) {
+            args.add(match.getDemandId());
+            args.add(match.getJourneyId());
+            args.add(match.getMatchScore());
+            args.add(match.getExpiresOn() != null ? Date.valueOf(match.getExpiresOn()) : null);
+        }
+        args.add(now);
+        args.add(now);
+        args.add(Date.valueOf(LocalDate.now()));
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    @Override
+    public int updateProposedScores(List<Match> matches) {
+        if (matches.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPDATE_SCORE_SQL, matches, ROWS_PER_STATEMENT, (ps, match) -> {
+            ps.setDouble(1, match.getMatchScore());
+            ps.setDate(2, match.getExpiresOn() != null ? Date.valueOf(match.getExpiresOn()) : null);
+            ps.setTimestamp(3, now);
+            ps.setLong(4, match.getId());
+        });
+        return matches.size();
+    }
+
+    @Override
+    public int updateExpiryForDemand(String demandId, LocalDate deadline) {
+        return updateExpiry(DEMAND_EXPIRY_SQL, demandId, deadline);
+    }
+
+    @Override
+    public int updateExpiryForJourney(Long journeyId, LocalDate departureDate) {
+        return updateExpiry(JOURNEY_EXPIRY_SQL, journeyId, departureDate);
+    }
+
+    private int updateExpiry(String sql, Object listingId, LocalDate date) {
+        if (date == null) {
+            return 0;
+        }
+        Date day = Date.valueOf(date);
+        return jdbcTemplate.update(sql, day, day, Timestamp.valueOf(LocalDateTime.now()), listingId, day, day);
+    }
+
+    @Override
+    public List<Long> deleteProposed(List<Long> matchIds) {
+        if (matchIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(matchIds.size(), "?"));
+        List<Long> proposed = jdbcTemplate.queryForList(
+                String.format(LOCK_PROPOSED_SQL, placeholders), Long.class, matchIds.toArray());
+        if (!proposed.isEmpty()) {
+            jdbcTemplate.update(String.format(DELETE_PROPOSED_SQL,
+                    String.join(", ", Collections.nCopies(proposed.size(), "?"))), proposed.toArray());
+        }
+        return proposed;
+    }
+
+    @Override
+    public int backfillExpiry(int limit) {
+        List<Long> ids = jdbcTemplate.queryForList(MISSING_EXPIRY_IDS_SQL, Long.class, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        List<Object> args = new ArrayList<>(ids.size() + 1);
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.addAll(ids);
+        return jdbcTemplate.update(String.format(BACKFILL_EXPIRY_SQL,
+                String.join(", ", Collections.nCopies(ids.size(), "?"))), args.toArray());
+    }
+
+    @Override
+    public List<Long> findExpiredOpenMatchIds(LocalDate today, int limit) {
+        return jdbcTemplate.queryForList(EXPIRED_IDS_SQL, Long.class, Date.valueOf(today), limit);
+    }
+
+    @Override
+    public int expireMatches(List<Long> matchIds, LocalDate today) {
+        if (matchIds.isEmpty()) {
+            return 0;
+        }
+        String sql = EXPIRE_SQL + "(" + String.join(", ", Collections.nCopies(matchIds.size(), "?")) + ")";
+        List<Object> args = new ArrayList<>(matchIds.size() + 2);
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.add(Date.valueOf(today));
+        args.addAll(matchIds);
+        return jdbcTemplate.update(sql, args.toArray());
+    }
+
+    @Override
+    public boolean confirmByDemander(Long matchId, String userId, boolean confirmed) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(confirmed ? DEMANDER_CONFIRM_SQL : DEMANDER_REJECT_SQL, now, now, matchId, userId) == 1;
+    }
+
+    @Override
+    public boolean confirmByTraveler(Long matchId, Long userId, boolean confirmed) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return jdbcTemplate.update(confirmed ? TRAVELER_CONFIRM_SQL : TRAVELER_REJECT_SQL, now, now, matchId, userId) == 1;
+    }
+
+    @Override
+    public boolean transition(Long matchId, MatchStatus from, MatchStatus to) {
+        return jdbcTemplate.update(TRANSITION_SQL, to.name(), Timestamp.valueOf(LocalDateTime.now()), matchId, from.name()) == 1;
+    }
+}
@@ -0,0 +1,54 @@
+package com.bangbang.matching.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+/**
+ * Makes sure matches carries uk_matches_demand_journey, which
+ * {@link MatchRepositoryCustom#insertIgnoringDuplicates} relies on to deduplicate.
+ * ddl-auto cannot add the key to a table that already holds duplicate pairs, so when it is
+ * missing db/matches_unique_key.sql removes the duplicates and adds it. Startup fails if the
+ * key is still missing afterwards, rather than matching on without deduplication.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MatchUniqueKeyMigration {
+
+    private static final String UNIQUE_KEY = "uk_matches_demand_journey";
+
+    private static final String KEY_EXISTS_SQL =
+            "SELECT COUNT(*) FROM information_schema.statistics " +
+            "WHERE table_schema = DATABASE() AND table_name = 'matches' AND index_name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    // Runs after Hibernate has created or updated the schema
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void migrate() {
+        if (hasUniqueKey()) {
+            return;
+        }
+        log.warn("matches has no {}, removing duplicate matches and adding it", UNIQUE_KEY);
+        new ResourceDatabasePopulator(new ClassPathResource("db/matches_unique_key.sql")).execute(dataSource);
+        if (!hasUniqueKey()) {
+            throw new IllegalStateException("matches is missing " + UNIQUE_KEY);
+        }
+        log.info("Added {} to matches", UNIQUE_KEY);
+    }
+
+    private boolean hasUniqueKey() {
+        Integer count = jdbcTemplate.queryForObject(KEY_EXISTS_SQL, Integer.class, UNIQUE_KEY);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,68 @@
+package com.bangbang.matching.repository;
+
+import com.bangbang.matching.model.MatchStatus;
+import com.bangbang.matching.model.MatchView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MatchViewRepository extends JpaRepository<MatchView, Long> {
+
+    List<MatchView> findByDemandIdOrderByMatchedAtDesc(String demandId);
+
+    List<MatchView> findByJourneyIdOrderByMatchedAtDesc(Long journeyId);
+
+    List<MatchView> findByJourneyIdInAndStatusIn(Collection<Long> journeyIds, Collection<MatchStatus> statuses);
+
+    @Query("SELECT v FROM MatchView v WHERE v.demandUserId = :userId OR v.journeyUserId = :userId " +
+           "ORDER BY v.matchedAt DESC")
+    List<MatchView> findByUserId(@Param("userId") String userId);
+
+    @Query("SELECT v FROM MatchView v WHERE v.status = :status " +
+           "AND (v.demandUserId = :userId OR v.journeyUserId = :userId) ORDER BY v.matchedAt DESC")
+    List<MatchView> findByStatusAndUserId(@Param("status") MatchStatus status, @Param("userId") String userId);
+
+    // Keyset pages, newest first. Each side has its own index, so the OR over both user
+    // columns is split into two range scans that the caller merges.
+
+    @Query("SELECT v FROM MatchView v WHERE v.demandUserId = :userId " +
+           "AND (v.matchedAt < :matchedAt OR (v.matchedAt = :matchedAt AND v.matchId < :matchId)) " +
+           "ORDER BY v.matchedAt DESC, v.matchId DESC")
+    List<MatchView> findDemanderPage(@Param("userId") String userId,
+                                     @Param("matchedAt") LocalDateTime matchedAt,
+                                     @Param("matchId") Long matchId,
+                                     Pageable pageable);
+
+    @Query("SELECT v FROM MatchView v WHERE v.journeyUserId = :userId " +
+           "AND (v.matchedAt < :matchedAt OR (v.matchedAt = :matchedAt AND v.matchId < :matchId)) " +
+           "ORDER BY v.matchedAt DESC, v.matchId DESC")
+    List<MatchView> findTravelerPage(@Param("userId") Long userId,
+                                     @Param("matchedAt") LocalDateTime matchedAt,
+                                     @Param("matchId") Long matchId,
+                                     Pageable pageable);
+
+    @Query("SELECT v FROM MatchView v WHERE v.demandUserId = :userId AND v.status = :status " +
+           "AND (v.matchedAt < :matchedAt OR (v.matchedAt = :matchedAt AND v.matchId < :matchId)) " +
+           "ORDER BY v.matchedAt DESC, v.matchId DESC")
+    List<MatchView> findDemanderPageByStatus(@Param("userId") String userId,
+                                             @Param("status") MatchStatus status,
+                                             @Param("matchedAt") LocalDateTime matchedAt,
+                                             @Param("matchId") Long matchId,
+                                             Pageable pageable);
+
+    @Query("SELECT v FROM MatchView v WHERE v.journeyUserId = :userId AND v.status = :status " +
+           "AND (v.matchedAt < :matchedAt OR (v.matchedAt = :matchedAt AND v.matchId < :matchId)) " +
+           "ORDER BY v.matchedAt DESC, v.matchId DESC")
+    List<MatchView> findTravelerPageByStatus(@Param("userId") Long userId,
+                                             @Param("status") MatchStatus status,
+                                             @Param("matchedAt") LocalDateTime matchedAt,
+                                             @Param("matchId") Long matchId,
+                                             Pageable pageable);
+}
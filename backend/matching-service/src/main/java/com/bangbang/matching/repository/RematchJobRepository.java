@@ -0,0 +1,66 @@
+package com.bangbang.matching.repository;
+
+import com.bangbang.matching.model.RematchJob;
+import com.bangbang.matching.model.RematchJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RematchJobRepository extends JpaRepository<RematchJob, Long> {
+
+    List<RematchJob> findByStatus(RematchJobStatus status);
+
+    boolean existsByStatus(RematchJobStatus status);
+
+    List<RematchJob> findAllByOrderByIdDesc();
+
+    /**
+     * Advance the checkpoint of a job still RUNNING under the given owner and renew its lease.
+     * Returns 0 once the job was cancelled or taken over by another replica.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RematchJob j SET j.lastDemandId = :lastDemandId, " +
+            "j.demandsProcessed = j.demandsProcessed + :demands, " +
+            "j.demandsSkipped = j.demandsSkipped + :skipped, " +
+            "j.matchesCreated = j.matchesCreated + :created, " +
+            "j.matchesRescored = j.matchesRescored + :rescored, " +
+            "j.leaseExpiresAt = :leaseExpiresAt, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = :running AND j.owner = :owner")
+    int advanceCheckpoint(@Param("id") Long id, @Param("owner") String owner,
+                          @Param("lastDemandId") String lastDemandId, @Param("demands") long demands,
+                          @Param("skipped") long skipped,
+                          @Param("created") long created, @Param("rescored") long rescored,
+                          @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt, @Param("now") LocalDateTime now,
+                          @Param("running") RematchJobStatus running);
+
+    /**
+     * Take over a RUNNING job whose lease expired (or was never recorded)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RematchJob j SET j.owner = :owner, j.leaseExpiresAt = :leaseExpiresAt, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = :running AND (j.leaseExpiresAt IS NULL OR j.leaseExpiresAt < :now)")
+    int claimExpired(@Param("id") Long id, @Param("owner") String owner,
+                     @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt, @Param("now") LocalDateTime now,
+                     @Param("running") RematchJobStatus running);
+
+    /**
+     * Move a RUNNING job to a final status. With an owner, only while that replica still holds the job.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE RematchJob j SET j.status = :status, j.errorMessage = :errorMessage, " +
+            "j.finishedAt = :now, j.updatedAt = :now, j.leaseExpiresAt = NULL " +
+            "WHERE j.id = :id AND j.status = :running AND (:owner IS NULL OR j.owner = :owner)")
+    int stopRunning(@Param("id") Long id, @Param("owner") String owner,
+                    @Param("status") RematchJobStatus status, @Param("errorMessage") String errorMessage,
+                    @Param("now") LocalDateTime now, @Param("running") RematchJobStatus running);
+}
@@ -0,0 +1,150 @@
+package com.bangbang.matching.service;
+
+import com.bangbang.matching.dto.AssignmentSummary;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.index.CorridorIndex;
+import com.bangbang.matching.index.CorridorKey;
+import com.bangbang.matching.model.Match;
+import com.bangbang.matching.model.MatchStatus;
+import com.bangbang.matching.model.MatchView;
+import com.bangbang.matching.repository.MatchRepository;
+import com.bangbang.matching.repository.MatchViewRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Runs {@link CapacityAssigner} over corridors of the index and reconciles the stored
+ * proposals with the result. Matches one of the parties already accepted are kept and their
+ * weight is taken off the journey's capacity; PROPOSED matches to the corridor's journeys
+ * that the assignment no longer picks are withdrawn.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AssignmentService {
+
+    private static final Set<MatchStatus> ACCEPTED = EnumSet.of(MatchStatus.PENDING, MatchStatus.CONFIRMED);
+
+    private final CorridorIndex corridorIndex;
+    private final CapacityAssigner capacityAssigner;
+    private final MatchRepository matchRepository;
+    private final MatchViewRepository matchViewRepository;
+    private final MatchViewProjector matchViewProjector;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Assign one corridor
+     *
+     * @return number of new matches proposed
+     */
+    @Transactional
+    public int assignCorridor(CorridorKey key) {
+        return reassign(key)[0];
+    }
+
+    /**
+     * Assign every corridor of the index, one transaction per corridor
+     */
+    public AssignmentSummary assignAll() {
+        long start = System.currentTimeMillis();
+        List<CorridorKey> keys = corridorIndex.corridorKeys();
+        int proposed = 0;
+        int withdrawn = 0;
+        for (CorridorKey key : keys) {
+            int[] counts = transactionTemplate.execute(status -> reassign(key));
+            proposed += counts[0];
+            withdrawn += counts[1];
+        }
+        AssignmentSummary summary = AssignmentSummary.builder()
+                .corridors(keys.size())
+                .matchesProposed(proposed)
+                .proposalsWithdrawn(withdrawn)
+                .elapsedMs(System.currentTimeMillis() - start)
+                .build();
+        log.info("Assigned {} corridors: {} matches proposed, {} proposals withdrawn in {} ms",
+                summary.getCorridors(), proposed, withdrawn, summary.getElapsedMs());
+        return summary;
+    }
+
+    /**
+     * @return {matches proposed, proposals withdrawn}
+     */
+    private int[] reassign(CorridorKey key) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<JourneyDto> journeys = corridorIndex.journeysOn(key);
+        List<DemandDto> demands = corridorIndex.demandsOn(key);
+        if (journeys.isEmpty() || demands.isEmpty()) {
+            return new int[]{0, 0};
+        }
+
+        Map<String, DemandDto> demandsById = demands.stream()
+                .collect(Collectors.toMap(DemandDto::getId, Function.identity()));
+        List<Match> activeMatches = matchRepository.findActiveMatchesByDemandIdIn(demandsById.keySet());
+
+        // Accepted matches are settled: the demand is placed and the weight is taken
+        Set<String> settledDemandIds = new HashSet<>();
+        for (Match match : activeMatches) {
+            if (match.getStatus() != MatchStatus.PROPOSED) {
+                settledDemandIds.add(match.getDemandId());
+            }
+        }
+        // Taken weight is read per journey, since an accepted demand no longer PENDING has
+        // left the index but still rides on the journey
+        Map<Long, JourneyDto> journeysById = journeys.stream()
+                .collect(Collectors.toMap(JourneyDto::getId, Function.identity()));
+        Map<Long, Double> committedWeight = new HashMap<>();
+        for (MatchView accepted : matchViewRepository.findByJourneyIdInAndStatusIn(journeysById.keySet(), ACCEPTED)) {
+            if (accepted.getDemandWeightKg() != null) {
+                committedWeight.merge(accepted.getJourneyId(), accepted.getDemandWeightKg(), Double::sum);
+            }
+        }
+        List<DemandDto> openDemands = demands.stream()
+                .filter(demand -> !settledDemandIds.contains(demand.getId()))
+                .collect(Collectors.toList());
+
+        List<Match> assigned = capacityAssigner.assign(journeys, openDemands, committedWeight);
+
+        Set<String> assignedPairs = assigned.stream()
+                .map(match -> match.getDemandId() + ":" + match.getJourneyId())
+                .collect(Collectors.toSet());
+        // Demands of this corridor can also hold proposals to journeys of nearby corridors;
+        // those are not part of this assignment and stay as they are
+        List<Long> withdrawnIds = new ArrayList<>();
+        for (Match match : activeMatches) {
+            if (match.getStatus() == MatchStatus.PROPOSED
+                    && journeysById.containsKey(match.getJourneyId())
+                    && !assignedPairs.contains(match.getDemandId() + ":" + match.getJourneyId())) {
+                withdrawnIds.add(match.getId());
+            }
+        }
+        if (!withdrawnIds.isEmpty()) {
+            // A proposal confirmed since it was read is no longer PROPOSED and is kept
+            withdrawnIds = matchRepository.deleteProposed(withdrawnIds);
+            matchViewProjector.remove(withdrawnIds);
+        }
+        int proposed = matchRepository.insertIgnoringDuplicates(assigned);
+        matchViewProjector.project(assigned, demandsById::get, journeysById::get);
+
+        sample.stop(meterRegistry.timer("matching.assignment.corridor"));
+        log.debug("Assigned corridor {}: {} journeys, {} open demands, {} new matches, {} withdrawn",
+                key, journeys.size(), openDemands.size(), proposed, withdrawnIds.size());
+        return new int[]{proposed, withdrawnIds.size()};
+    }
+}
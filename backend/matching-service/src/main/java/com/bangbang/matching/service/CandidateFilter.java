@@ -0,0 +1,72 @@
+package com.bangbang.matching.service;
+
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.trace.MatchTrace;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Hard constraints a candidate must satisfy before it is scored.
+ * The listing and its candidates are expected to come out of the corridor index, i.e. interned
+ * and already sliced to the days where the journey departs before the demand deadline.
+ * In a traced request every rejection is counted by the constraint that caused it.
+ */
+@Component
+@RequiredArgsConstructor
+public class CandidateFilter {
+
+    private final MatchScorer matchScorer;
+
+    /**
+     * Keep the corridor journeys that can carry the demand
+     */
+    public List<JourneyDto> filterJourneys(DemandDto demand, List<JourneyDto> corridorJourneys) {
+        boolean traced = MatchTrace.isActive();
+        return corridorJourneys.stream()
+                .filter(journey -> traced ? canCarryTraced(journey, demand) : canCarry(journey, demand))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Keep the corridor demands the journey can carry
+     */
+    public List<DemandDto> filterDemands(JourneyDto journey, List<DemandDto> corridorDemands) {
+        boolean traced = MatchTrace.isActive();
+        return corridorDemands.stream()
+                .filter(demand -> traced ? canCarryTraced(journey, demand) : canCarry(journey, demand))
+                .collect(Collectors.toList());
+    }
+
+    public boolean canCarry(JourneyDto journey, DemandDto demand) {
+        // Basic route matching
+        return matchScorer.routeMatches(demand, journey)
+                && fitsWeight(journey, demand)
+                && allowsItemType(journey, demand);
+    }
+
+    private boolean canCarryTraced(JourneyDto journey, DemandDto demand) {
+        String rejection = !matchScorer.routeMatches(demand, journey) ? "rejected.route"
+                : !fitsWeight(journey, demand) ? "rejected.weight"
+                : !allowsItemType(journey, demand) ? "rejected.type"
+                : null;
+        if (rejection != null) {
+            MatchTrace.count(rejection);
+        }
+        return rejection == null;
+    }
+
+    // Check item weight constraints
+    private static boolean fitsWeight(JourneyDto journey, DemandDto demand) {
+        return journey.getAvailableWeight() >= demand.getWeightKg();
+    }
+
+    // Check if the journey allows the item type (a journey without preferences allows any)
+    private static boolean allowsItemType(JourneyDto journey, DemandDto demand) {
+        return journey.getPreferredItemTypeMask() == 0L
+                || (journey.getPreferredItemTypeMask() & demand.getItemTypeBit()) != 0L;
+    }
+}
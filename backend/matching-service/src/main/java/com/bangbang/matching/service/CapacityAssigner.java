@@ -0,0 +1,131 @@
+package com.bangbang.matching.service;
+
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.model.Match;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Capacity-aware assignment of demands to journeys within one corridor.
+ * The corridor is treated as a bipartite graph whose edges are feasible (demand, journey)
+ * pairs weighted by match score. Edges are taken greedily in decreasing score order while
+ * the journey still has weight left, so no journey is promised more than it can carry and
+ * every demand gets at most one journey. Greedy weighted assignment stays within a factor
+ * of two of the optimum and is linear-logarithmic in the number of edges; keeping only the
+ * best few edges per demand keeps a corridor of a few thousand listings in the milliseconds.
+ */
+@Component
+@RequiredArgsConstructor
+public class CapacityAssigner {
+
+    private static final long SCORE_SCALE = 1_000_000L;
+
+    private final MatchScorer matchScorer;
+    private final CandidateFilter candidateFilter;
+    private final MatchingProperties matchingProperties;
+
+    /**
+     * @param journeys        corridor journeys in departure order
+     * @param demands         corridor demands still to be placed
+     * @param committedWeight weight per journey already taken by accepted matches
+     * @return conflict-free PROPOSED matches, best first
+     */
+    public List<Match> assign(List<JourneyDto> journeys, List<DemandDto> demands, Map<Long, Double> committedWeight) {
+        int maxEdgesPerDemand = Math.max(1, matchingProperties.getAssignment().getMaxEdgesPerDemand());
+        double minScore = matchingProperties.getScoring().getMinScore();
+        EdgeList edges = new EdgeList(demands.size() * Math.min(maxEdgesPerDemand, Math.max(1, journeys.size())));
+
+        // 1. Keep the best few feasible journeys per demand. Journeys are in departure
+        // order, i.e. decreasing lead time, so the top-K upper-bound cutoff applies.
+        for (int d = 0; d < demands.size(); d++) {
+            DemandDto demand = demands.get(d);
+            TopKSelector best = new TopKSelector(maxEdgesPerDemand);
+            for (int j = 0; j < journeys.size(); j++) {
+                JourneyDto journey = journeys.get(j);
+                if (!journey.getDepartureDate().isBefore(demand.getDeadline())) {
+                    break;
+                }
+                if (best.isFull()
+                        && matchScorer.upperBound(matchScorer.daysBeforeDeadline(demand, journey)) <= best.threshold()) {
+                    break;
+                }
+                if (candidateFilter.canCarry(journey, demand)) {
+                    double score = matchScorer.calculateMatchScore(demand, journey);
+                    if (score >= minScore) {
+                        best.offer(score, j);
+                    }
+                }
+            }
+            int demandIndex = d;
+            best.forEachDescending((journeyIndex, score) -> edges.add(demandIndex, journeyIndex, score));
+        }
+
+        // 2. Sort edges by decreasing score: the score goes in the high bits, the edge
+        // index in the low bits, so a primitive sort does the work
+        long[] order = new long[edges.size];
+        for (int e = 0; e < edges.size; e++) {
+            long scaled = Math.round(edges.scores[e] * SCORE_SCALE);
+            order[e] = ((SCORE_SCALE - scaled) << 32) | e;
+        }
+        Arrays.sort(order);
+
+        // 3. Take edges greedily while the journey has room and the demand is unplaced
+        double[] remaining = new double[journeys.size()];
+        for (int j = 0; j < journeys.size(); j++) {
+            JourneyDto journey = journeys.get(j);
+            remaining[j] = journey.getAvailableWeight() - committedWeight.getOrDefault(journey.getId(), 0.0);
+        }
+        boolean[] placed = new boolean[demands.size()];
+        List<Match> matches = new ArrayList<>();
+        for (long key : order) {
+            int e = (int) key;
+            int d = edges.demands[e];
+            int j = edges.journeys[e];
+            DemandDto demand = demands.get(d);
+            if (placed[d] || remaining[j] < demand.getWeightKg()) {
+                continue;
+            }
+            placed[d] = true;
+            remaining[j] -= demand.getWeightKg();
+            matches.add(MatchSelector.newProposedMatch(demand, journeys.get(j), edges.scores[e]));
+        }
+        return matches;
+    }
+
+    /**
+     * Growable structure-of-arrays edge list
+     */
+    private static final class EdgeList {
+
+        private int[] demands;
+        private int[] journeys;
+        private double[] scores;
+        private int size;
+
+        EdgeList(int capacity) {
+            int initial = Math.max(16, capacity);
+            demands = new int[initial];
+            journeys = new int[initial];
+            scores = new double[initial];
+        }
+
+        void add(int demand, int journey, double score) {
+            if (size == scores.length) {
+                demands = Arrays.copyOf(demands, size * 2);
+                journeys = Arrays.copyOf(journeys, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            demands[size] = demand;
+            journeys[size] = journey;
+            scores[size] = score;
+            size++;
+        }
+    }
+}
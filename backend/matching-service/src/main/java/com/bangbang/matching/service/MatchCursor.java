@@ -0,0 +1,53 @@
+package com.bangbang.matching.service;
+
+import com.bangbang.matching.exception.InvalidCursorException;
+import com.bangbang.matching.model.MatchView;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in a (matchedAt DESC, matchId DESC) ordered listing, exchanged with
+ * clients as an opaque string
+ */
+@Getter
+@EqualsAndHashCode
+final class MatchCursor {
+
+    // Sorts after every stored match; DATETIME cannot hold LocalDateTime.MAX
+    static final MatchCursor START = new MatchCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    private final LocalDateTime matchedAt;
+    private final long matchId;
+
+    MatchCursor(LocalDateTime matchedAt, long matchId) {
+        this.matchedAt = matchedAt;
+        this.matchId = matchId;
+    }
+
+    static MatchCursor after(MatchView view) {
+        return new MatchCursor(view.getMatchedAt(), view.getMatchId());
+    }
+
+    static MatchCursor decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return START;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            return new MatchCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    String encode() {
+        String value = matchedAt + "|" + matchId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,190 @@
+package com.bangbang.matching.service;
+
+import com.bangbang.matching.client.ListingCache;
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.dto.MatchDto;
+import com.bangbang.matching.mapper.MatchMapper;
+import com.bangbang.matching.model.Match;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Attaches demand and journey details to matches.
+ * Details are served from the {@link ListingCache} where present; only the misses go
+ * over the network. Lookups fan out on a dedicated bounded executor: ids are split into
+ * batch-sized chunks and demand and journey chunks are fetched concurrently, each with its
+ * own timeout.
+ * Results are merged as they arrive. A failed chunk is retried id by id, so a bad or slow
+ * listing only leaves its own match without details.
+ */
+@Component
+@Slf4j
+public class MatchEnricher {
+
+    private final ListingCache listingCache;
+    private final MatchMapper matchMapper;
+    private final ExecutorService enrichmentExecutor;
+    private final MatchingProperties.Enrichment settings;
+    private final Timer latencyTimer;
+    private final DistributionSummary fanOutSummary;
+    private final Counter missingDemands;
+    private final Counter missingJourneys;
+
+    public MatchEnricher(ListingCache listingCache,
+                         MatchMapper matchMapper,
+                         @Qualifier("enrichmentExecutor") ExecutorService enrichmentExecutor,
+                         MatchingProperties matchingProperties,
+                         MeterRegistry meterRegistry) {
+        this.listingCache = listingCache;
+        this.matchMapper = matchMapper;
+        this.enrichmentExecutor = enrichmentExecutor;
+        this.settings = matchingProperties.getEnrichment();
+        this.latencyTimer = Timer.builder("matching.enrichment.latency")
+                .description("Time to attach demand and journey details to a list of matches")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.fanOutSummary = DistributionSummary.builder("matching.enrichment.fanout")
+                .description("Remote lookups issued per enrichment")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.missingDemands = Counter.builder("matching.enrichment.missing")
+                .tag("type", "demand")
+                .register(meterRegistry);
+        this.missingJourneys = Counter.builder("matching.enrichment.missing")
+                .tag("type", "journey")
+                .register(meterRegistry);
+    }
+
+    public List<MatchDto> enrich(List<Match> matches) {
+        if (matches.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long start = System.nanoTime();
+        AtomicInteger fanOut = new AtomicInteger();
+
+        Set<String> demandIds = matches.stream().map(Match::getDemandId).collect(Collectors.toSet());
+        Set<Long> journeyIds = matches.stream().map(Match::getJourneyId).collect(Collectors.toSet());
+
+        Map<String, DemandDto> cachedDemands = listingCache.presentDemands(demandIds);
+        Map<Long, JourneyDto> cachedJourneys = listingCache.presentJourneys(journeyIds);
+        CompletableFuture<Map<String, DemandDto>> demands = fetchAll(missing(demandIds, cachedDemands),
+                listingCache::loadDemands, listingCache::getDemand, DemandDto::getId, fanOut);
+        CompletableFuture<Map<Long, JourneyDto>> journeys = fetchAll(missing(journeyIds, cachedJourneys),
+                listingCache::loadJourneys, listingCache::getJourney, JourneyDto::getId, fanOut);
+
+        Map<String, DemandDto> demandMap = demands.join();
+        Map<Long, JourneyDto> journeyMap = journeys.join();
+        demandMap.putAll(cachedDemands);
+        journeyMap.putAll(cachedJourneys);
+        missingDemands.increment(demandIds.size() - demandMap.size());
+        missingJourneys.increment(journeyIds.size() - journeyMap.size());
+
+        List<MatchDto> result = matches.stream()
+                .map(matchMapper::matchToMatchDto)
+                .peek(dto -> {
+                    dto.setDemand(demandMap.get(dto.getDemandId()));
+                    dto.setJourney(journeyMap.get(dto.getJourneyId()));
+                })
+                .collect(Collectors.toList());
+
+        fanOutSummary.record(fanOut.get());
+        latencyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+
+    public MatchDto enrich(MatchDto matchDto) {
+        CompletableFuture<DemandDto> demand = fetchOne(matchDto.getDemandId(), listingCache::getDemand);
+        CompletableFuture<JourneyDto> journey = fetchOne(matchDto.getJourneyId(), listingCache::getJourney);
+        matchDto.setDemand(demand.join());
+        matchDto.setJourney(journey.join());
+        return matchDto;
+    }
+
+    private <K, V> CompletableFuture<Map<K, V>> fetchAll(Set<K> ids,
+                                                         Function<Collection<K>, List<V>> batchLookup,
+                                                         Function<K, V> singleLookup,
+                                                         Function<V, K> idOf,
+                                                         AtomicInteger fanOut) {
+        Map<K, V> results = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (List<K> chunk : partition(ids, settings.getBatchSize())) {
+            fanOut.incrementAndGet();
+            CompletableFuture<Void> chunkFuture = CompletableFuture
+                    .supplyAsync(() -> batchLookup.apply(chunk), enrichmentExecutor)
+                    .orTimeout(settings.getTimeoutMs(), TimeUnit.MILLISECONDS)
+                    .handle((values, error) -> {
+                        if (error == null) {
+                            values.forEach(value -> results.put(idOf.apply(value), value));
+                            return CompletableFuture.<Void>completedFuture(null);
+                        }
+                        log.warn("Batch lookup of {} ids failed, retrying individually: {}", chunk.size(), error.toString());
+                        return retryIndividually(chunk, singleLookup, results, fanOut);
+                    })
+                    .thenCompose(Function.identity());
+            chunks.add(chunkFuture);
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0]))
+                .thenApply(ignored -> results);
+    }
+
+    private <K, V> CompletableFuture<Void> retryIndividually(List<K> ids,
+                                                             Function<K, V> singleLookup,
+                                                             Map<K, V> results,
+                                                             AtomicInteger fanOut) {
+        CompletableFuture<?>[] lookups = ids.stream()
+                .map(id -> {
+                    fanOut.incrementAndGet();
+                    return fetchOne(id, singleLookup).thenAccept(value -> {
+                        if (value != null) {
+                            results.put(id, value);
+                        }
+                    });
+                })
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(lookups);
+    }
+
+    private <K, V> CompletableFuture<V> fetchOne(K id, Function<K, V> lookup) {
+        return CompletableFuture
+                .supplyAsync(() -> lookup.apply(id), enrichmentExecutor)
+                .orTimeout(settings.getTimeoutMs(), TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    log.warn("Lookup of {} failed: {}", id, error.toString());
+                    return null;
+                });
+    }
+
+    private static <K> Set<K> missing(Set<K> ids, Map<K, ?> cached) {
+        return ids.stream().filter(id -> !cached.containsKey(id)).collect(Collectors.toSet());
+    }
+
+    private static <K> List<List<K>> partition(Collection<K> ids, int size) {
+        List<K> all = new ArrayList<>(ids);
+        List<List<K>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += size) {
+            chunks.add(all.subList(from, Math.min(all.size(), from + size)));
+        }
+        return chunks;
+    }
+}
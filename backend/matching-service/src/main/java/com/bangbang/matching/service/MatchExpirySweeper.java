@@ -0,0 +1,126 @@
+package com.bangbang.matching.service;
+
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.model.MatchStatus;
+import com.bangbang.matching.repository.MatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Expires PROPOSED and PENDING matches once their journey has departed or their demand
+ * deadline has passed, so the active-match queries only ever see live listings.
+ * Each round selects a bounded batch of ids through the (status, expires_on) index and
+ * expires them with a single UPDATE, in its own short transaction together with the
+ * match_view refresh. Open matches recorded before matches carried an expiry date are given
+ * one first, from the listing dates in match_view, so they are swept like any other.
+ * The active-match count is re-counted after every sweep and exported as a gauge rather
+ * than counted on every scrape.
+ */
+@Component
+@Slf4j
+public class MatchExpirySweeper {
+
+    private static final Set<MatchStatus> ACTIVE_STATUSES =
+            EnumSet.of(MatchStatus.PROPOSED, MatchStatus.PENDING, MatchStatus.CONFIRMED);
+
+    private final MatchRepository matchRepository;
+    private final MatchViewProjector matchViewProjector;
+    private final TransactionTemplate transactionTemplate;
+    private final MatchingProperties.Expiry settings;
+    private final Counter expiredCounter;
+    private final AtomicLong activeMatches = new AtomicLong();
+
+    public MatchExpirySweeper(MatchRepository matchRepository,
+                              MatchViewProjector matchViewProjector,
+                              TransactionTemplate transactionTemplate,
+                              MatchingProperties matchingProperties,
+                              MeterRegistry meterRegistry) {
+        this.matchRepository = matchRepository;
+        this.matchViewProjector = matchViewProjector;
+        this.transactionTemplate = transactionTemplate;
+        this.settings = matchingProperties.getExpiry();
+        this.expiredCounter = Counter.builder("matching.matches.expired")
+                .description("Open matches expired by the sweeper")
+                .register(meterRegistry);
+        Gauge.builder("matching.matches.active", activeMatches, AtomicLong::get)
+                .description("PROPOSED, PENDING and CONFIRMED matches as of the last sweep")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${matching.expiry.sweep-interval-ms:600000}",
+            fixedDelayString = "${matching.expiry.sweep-interval-ms:600000}")
+    public void sweep() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        try {
+            int backfilled = backfillExpiry();
+            if (backfilled > 0) {
+                log.info("Filled in the expiry date of {} matches", backfilled);
+            }
+            int expired = expireBefore(LocalDate.now());
+            if (expired > 0) {
+                log.info("Expired {} stale matches", expired);
+            }
+            activeMatches.set(matchRepository.countByStatusIn(ACTIVE_STATUSES));
+        } catch (Exception e) {
+            log.error("Error sweeping expired matches", e);
+        }
+    }
+
+    /**
+     * Give open matches without an expiry date one, at most {@code maxBatchesPerSweep}
+     * batches per call
+     *
+     * @return number of matches given an expiry date
+     */
+    public int backfillExpiry() {
+        int total = 0;
+        for (int batch = 0; batch < settings.getMaxBatchesPerSweep(); batch++) {
+            int filled = matchRepository.backfillExpiry(settings.getBatchSize());
+            total += filled;
+            if (filled < settings.getBatchSize()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Expire open matches whose expiry date is before the given day, at most
+     * {@code maxBatchesPerSweep} batches per call
+     *
+     * @return number of matches expired
+     */
+    public int expireBefore(LocalDate today) {
+        int total = 0;
+        for (int batch = 0; batch < settings.getMaxBatchesPerSweep(); batch++) {
+            List<Long> ids = matchRepository.findExpiredOpenMatchIds(today, settings.getBatchSize());
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer expired = transactionTemplate.execute(status -> {
+                int count = matchRepository.expireMatches(ids, today);
+                matchViewProjector.refreshMatchState(ids);
+                return count;
+            });
+            total += expired;
+            expiredCounter.increment(expired);
+            if (ids.size() < settings.getBatchSize()) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,84 @@
+package com.bangbang.matching.service;
+
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.index.LocationInterner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Scoring rules of the matching algorithm
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchScorer {
+
+    private static final double BASE_SCORE = 0.6;
+    private static final double WEIGHT_FACTOR = 0.1;
+    private static final double ITEM_TYPE_BONUS = 0.1;
+    private static final double MAX_TIME_FACTOR = 0.1;
+    private static final double TIME_FACTOR_PER_DAY = 0.015;
+    private static final double PROXIMITY_BONUS = 0.1;
+
+    private final LocationInterner locationInterner;
+
+    /**
+     * Origin and destination must each be the same city, or with proximity matching a city
+     * within the proximity radius. Both listings must have been interned by {@link LocationInterner}.
+     */
+    public boolean routeMatches(DemandDto demand, JourneyDto journey) {
+        return demand.getOriginLocationId() != LocationInterner.UNKNOWN
+                && locationInterner.isNearby(demand.getOriginLocationId(), journey.getFromLocationId())
+                && locationInterner.isNearby(demand.getDestinationLocationId(), journey.getToLocationId());
+    }
+
+    public double calculateMatchScore(DemandDto demand, JourneyDto journey) {
+        // Base score starts at 0.6 if routes match
+        double score = BASE_SCORE;
+        
+        // Route matching already verified, now we calculate additional score factors
+        
+        // 1. Weight capacity - more available weight is better (up to 0.1)
+        double weightRatio = Math.min(1.0, (journey.getAvailableWeight() / demand.getWeightKg()));
+        score += WEIGHT_FACTOR * weightRatio;
+        
+        // 2. Item type preference match (up to 0.1)
+        if ((journey.getPreferredItemTypeMask() & demand.getItemTypeBit()) != 0L) {
+            score += ITEM_TYPE_BONUS;
+        }
+        
+        // 3. Time factor - if journey is well before deadline (up to 0.1)
+        score += timeFactor(daysBeforeDeadline(demand, journey));
+        
+        // 4. Proximity bonus, full for the same cities and shrinking with distance (up to 0.1)
+        score += PROXIMITY_BONUS * proximity(demand, journey);
+        
+        // Ensure score is between 0 and 1
+        return Math.min(1.0, Math.max(0.0, score));
+    }
+
+    /**
+     * Highest score any candidate departing the given number of days before the deadline
+     * can reach. Only the time factor depends on the dates, so the bound never increases
+     * as the lead time shrinks, which makes it usable as an early cutoff when candidates
+     * are visited in order of decreasing lead time.
+     */
+    public double upperBound(long daysBeforeDeadline) {
+        double bound = BASE_SCORE + WEIGHT_FACTOR + ITEM_TYPE_BONUS + timeFactor(daysBeforeDeadline) + PROXIMITY_BONUS;
+        return Math.min(1.0, bound);
+    }
+
+    public long daysBeforeDeadline(DemandDto demand, JourneyDto journey) {
+        return Math.max(0, demand.getDeadline().toEpochDay() - journey.getDepartureDate().toEpochDay());
+    }
+
+    private double proximity(DemandDto demand, JourneyDto journey) {
+        return (locationInterner.closeness(demand.getOriginLocationId(), journey.getFromLocationId())
+                + locationInterner.closeness(demand.getDestinationLocationId(), journey.getToLocationId())) / 2;
+    }
+
+    private double timeFactor(long daysBeforeDeadline) {
+        // Max score for 7+ days before deadline
+        return Math.min(MAX_TIME_FACTOR, daysBeforeDeadline * TIME_FACTOR_PER_DAY);
+    }
+}
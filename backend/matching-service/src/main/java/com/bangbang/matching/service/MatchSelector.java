@@ -0,0 +1,118 @@
+package com.bangbang.matching.service;
+
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.model.Match;
+import com.bangbang.matching.model.MatchStatus;
+import com.bangbang.matching.trace.MatchTrace;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Turns filtered candidates into the PROPOSED matches worth keeping
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchSelector {
+
+    private final MatchScorer matchScorer;
+    private final MatchingProperties matchingProperties;
+
+    /**
+     * Journeys come from the corridor index in departure order, i.e. decreasing lead time
+     * before the deadline, as the top-K cutoff requires.
+     */
+    public List<Match> selectForDemand(DemandDto demand, List<JourneyDto> candidateJourneys) {
+        return selectMatches(candidateJourneys,
+                journey -> matchScorer.calculateMatchScore(demand, journey),
+                journey -> matchScorer.daysBeforeDeadline(demand, journey),
+                (journey, matchScore) -> newProposedMatch(demand, journey, matchScore));
+    }
+
+    /**
+     * Demands come from the corridor index in deadline order; latest deadline first gives
+     * the decreasing lead time the top-K cutoff requires.
+     */
+    public List<Match> selectForJourney(JourneyDto journey, List<DemandDto> candidateDemands) {
+        List<DemandDto> byLeadTime = new ArrayList<>(candidateDemands);
+        Collections.reverse(byLeadTime);
+        return selectMatches(byLeadTime,
+                demand -> matchScorer.calculateMatchScore(demand, journey),
+                demand -> matchScorer.daysBeforeDeadline(demand, journey),
+                (demand, matchScore) -> newProposedMatch(demand, journey, matchScore));
+    }
+
+    static Match newProposedMatch(DemandDto demand, JourneyDto journey, double matchScore) {
+        return Match.builder()
+                .demandId(demand.getId())
+                .journeyId(journey.getId())
+                .demandUserId(demand.getUserId())
+                .journeyUserId(journey.getUserId())
+                .status(MatchStatus.PROPOSED)
+                .matchScore(matchScore)
+                .demanderConfirmed(false)
+                .travelerConfirmed(false)
+                .expiresOn(expiryOf(demand, journey))
+                .build();
+    }
+
+    private static LocalDate expiryOf(DemandDto demand, JourneyDto journey) {
+        LocalDate departure = journey.getDepartureDate();
+        LocalDate deadline = demand.getDeadline();
+        if (departure == null || deadline == null) {
+            return departure != null ? departure : deadline;
+        }
+        return departure.isBefore(deadline) ? departure : deadline;
+    }
+
+    /**
+     * Score candidates and build the matches worth proposing. Without a top-K limit every
+     * candidate reaching the minimum score is kept. With a limit, candidates stream through
+     * a bounded heap and only the K best are kept; since candidates arrive in order of
+     * decreasing lead time, the scan stops once no remaining candidate can beat the
+     * current K-th best score. The candidates actually scored are counted in the match trace.
+     */
+    private <C> List<Match> selectMatches(List<C> candidates,
+                                          ToDoubleFunction<C> scoreOf,
+                                          ToLongFunction<C> leadTimeOf,
+                                          BiFunction<C, Double, Match> toMatch) {
+        MatchingProperties.Scoring scoring = matchingProperties.getScoring();
+        List<Match> matches = new ArrayList<>();
+        if (scoring.getTopK() <= 0) {
+            for (C candidate : candidates) {
+                double matchScore = scoreOf.applyAsDouble(candidate);
+                if (matchScore >= scoring.getMinScore()) { // Only create matches with a minimum score
+                    matches.add(toMatch.apply(candidate, matchScore));
+                }
+            }
+            MatchTrace.count("scored", candidates.size());
+            return matches;
+        }
+        
+        TopKSelector topK = new TopKSelector(scoring.getTopK());
+        int scored = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            C candidate = candidates.get(i);
+            if (topK.isFull() && matchScorer.upperBound(leadTimeOf.applyAsLong(candidate)) <= topK.threshold()) {
+                break;
+            }
+            double matchScore = scoreOf.applyAsDouble(candidate);
+            scored++;
+            if (matchScore >= scoring.getMinScore()) {
+                topK.offer(matchScore, i);
+            }
+        }
+        MatchTrace.count("scored", scored);
+        topK.forEachDescending((index, matchScore) -> matches.add(toMatch.apply(candidates.get(index), matchScore)));
+        return matches;
+    }
+}
@@ -0,0 +1,245 @@
+package com.bangbang.matching.service;
+
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.dto.MatchDto;
+import com.bangbang.matching.model.Match;
+import com.bangbang.matching.repository.MatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the match_view projection.
+ * New matches are projected together with the demand and journey snapshots the matcher
+ * already holds, match state changes are copied over from the matches table, and listing
+ * change events refresh the snapshot columns of every match of that listing. All writes are
+ * plain JDBC so they can run in the caller's transaction right after the match write.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MatchViewProjector {
+
+    private static final String MATCH_COLUMNS =
+            "match_id, demand_id, journey_id, demand_user_id, journey_user_id, status, match_score, " +
+            "demander_confirmed, traveler_confirmed, matched_at, confirmed_at, rejected_at, updated_at";
+
+    private static final String DEMAND_COLUMNS =
+            "demand_item_type, demand_weight_kg, demand_origin_country, demand_origin_city, " +
+            "demand_destination_country, demand_destination_city, demand_deadline, demand_reward_amount, demand_status";
+
+    private static final String JOURNEY_COLUMNS =
+            "journey_from_country, journey_from_city, journey_to_country, journey_to_city, " +
+            "journey_departure_date, journey_arrival_date, journey_available_weight, journey_status";
+
+    // The match id is only known to the database, so the row is built from the matches table.
+    // A snapshot the caller does not hold is bound as nulls and keeps the values already there.
+    private static final String UPSERT_PAIR_SQL =
+            "INSERT INTO match_view (" + MATCH_COLUMNS + ", " + DEMAND_COLUMNS + ", " + JOURNEY_COLUMNS + ") " +
+            "SELECT m.id, m.demand_id, m.journey_id, m.demand_user_id, m.journey_user_id, m.status, m.match_score, " +
+            "m.demander_confirmed, m.traveler_confirmed, m.matched_at, m.confirmed_at, m.rejected_at, m.updated_at, " +
+            "?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ? " +
+            "FROM matches m WHERE m.demand_id = ? AND m.journey_id = ? " +
+            "ON DUPLICATE KEY UPDATE status = VALUES(status), match_score = VALUES(match_score), " +
+            "demander_confirmed = VALUES(demander_confirmed), traveler_confirmed = VALUES(traveler_confirmed), " +
+            "matched_at = VALUES(matched_at), confirmed_at = VALUES(confirmed_at), rejected_at = VALUES(rejected_at), " +
+            "updated_at = VALUES(updated_at), " + keepUnlessNull(DEMAND_COLUMNS) + ", " + keepUnlessNull(JOURNEY_COLUMNS);
+
+    private static final String REFRESH_MATCH_STATE_SQL =
+            "UPDATE match_view v JOIN matches m ON m.id = v.match_id SET v.status = m.status, " +
+            "v.match_score = m.match_score, v.demander_confirmed = m.demander_confirmed, " +
+            "v.traveler_confirmed = m.traveler_confirmed, v.confirmed_at = m.confirmed_at, " +
+            "v.rejected_at = m.rejected_at, v.updated_at = m.updated_at WHERE v.match_id = ?";
+
+    private static final String UPDATE_DEMAND_SQL =
+            "UPDATE match_view SET demand_item_type = ?, demand_weight_kg = ?, demand_origin_country = ?, " +
+            "demand_origin_city = ?, demand_destination_country = ?, demand_destination_city = ?, " +
+            "demand_deadline = ?, demand_reward_amount = ?, demand_status = ? WHERE demand_id = ?";
+
+    private static final String UPDATE_JOURNEY_SQL =
+            "UPDATE match_view SET journey_from_country = ?, journey_from_city = ?, journey_to_country = ?, " +
+            "journey_to_city = ?, journey_departure_date = ?, journey_arrival_date = ?, " +
+            "journey_available_weight = ?, journey_status = ? WHERE journey_id = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM match_view WHERE match_id = ?";
+
+    private static final String UNPROJECTED_SQL =
+            "SELECT m.id FROM matches m LEFT JOIN match_view v ON v.match_id = m.id " +
+            "WHERE v.match_id IS NULL ORDER BY m.id LIMIT ?";
+
+    private static final String DELETED = "DELETED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MatchRepository matchRepository;
+    private final MatchEnricher matchEnricher;
+    private final MatchingProperties matchingProperties;
+
+    /**
+     * Project new or re-proposed matches. Matches skipped as duplicates get their match state
+     * and the snapshots of the given listings refreshed.
+     */
+    public void project(List<Match> matches,
+                        Function<String, DemandDto> demandLookup,
+                        Function<Long, JourneyDto> journeyLookup) {
+        if (matches.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_PAIR_SQL, matches, matches.size(), (ps, match) -> {
+            int next = bindDemand(ps, 1, demandLookup.apply(match.getDemandId()));
+            next = bindJourney(ps, next, journeyLookup.apply(match.getJourneyId()));
+            ps.setString(next++, match.getDemandId());
+            ps.setLong(next, match.getJourneyId());
+        });
+    }
+
+    /**
+     * Copy status, score, confirmations and timestamps from the matches table.
+     * JPA changes must be flushed before calling this.
+     */
+    public void refreshMatchState(Collection<Long> matchIds) {
+        if (matchIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(REFRESH_MATCH_STATE_SQL, matchIds, matchIds.size(),
+                (ps, matchId) -> ps.setLong(1, matchId));
+    }
+
+    public void refreshMatchState(Long matchId) {
+        refreshMatchState(Collections.singletonList(matchId));
+    }
+
+    public void remove(Collection<Long> matchIds) {
+        if (matchIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, matchIds, matchIds.size(), (ps, matchId) -> ps.setLong(1, matchId));
+    }
+
+    /**
+     * Refresh the demand snapshot of all matches of a demand
+     */
+    public int applyDemand(DemandDto demand) {
+        return jdbcTemplate.update(UPDATE_DEMAND_SQL, ps -> {
+            int next = bindDemand(ps, 1, demand);
+            ps.setString(next, demand.getId());
+        });
+    }
+
+    /**
+     * Refresh the journey snapshot of all matches of a journey
+     */
+    public int applyJourney(JourneyDto journey) {
+        return jdbcTemplate.update(UPDATE_JOURNEY_SQL, ps -> {
+            int next = bindJourney(ps, 1, journey);
+            ps.setLong(next, journey.getId());
+        });
+    }
+
+    public int markDemandDeleted(String demandId) {
+        return jdbcTemplate.update("UPDATE match_view SET demand_status = ? WHERE demand_id = ?", DELETED, demandId);
+    }
+
+    public int markJourneyDeleted(Long journeyId) {
+        return jdbcTemplate.update("UPDATE match_view SET journey_status = ? WHERE journey_id = ?", DELETED, journeyId);
+    }
+
+    /**
+     * Project matches that predate the view, fetching their snapshots from the demand and
+     * journey services in batches
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (matchingProperties.getView().isBackfillOnStartup()) {
+            backfill();
+        }
+    }
+
+    public int backfill() {
+        int batchSize = matchingProperties.getView().getBackfillBatchSize();
+        int projected = 0;
+        try {
+            List<Long> matchIds;
+            while (!(matchIds = jdbcTemplate.queryForList(UNPROJECTED_SQL, Long.class, batchSize)).isEmpty()) {
+                List<Match> matches = matchRepository.findAllById(matchIds);
+                if (matches.isEmpty()) {
+                    break;
+                }
+                List<MatchDto> enriched = matchEnricher.enrich(matches);
+                Map<String, DemandDto> demands = enriched.stream()
+                        .filter(dto -> dto.getDemand() != null)
+                        .collect(Collectors.toMap(MatchDto::getDemandId, MatchDto::getDemand, (first, second) -> first));
+                Map<Long, JourneyDto> journeys = enriched.stream()
+                        .filter(dto -> dto.getJourney() != null)
+                        .collect(Collectors.toMap(MatchDto::getJourneyId, MatchDto::getJourney, (first, second) -> first));
+                project(matches, demands::get, journeys::get);
+                projected += matches.size();
+            }
+            if (projected > 0) {
+                log.info("Backfilled {} matches into match_view", projected);
+            }
+        } catch (Exception e) {
+            log.error("Error backfilling match_view after {} matches", projected, e);
+        }
+        return projected;
+    }
+
+    private static String keepUnlessNull(String columns) {
+        return Arrays.stream(columns.split(", "))
+                .map(column -> column + " = COALESCE(VALUES(" + column + "), " + column + ")")
+                .collect(Collectors.joining(", "));
+    }
+
+    private static int bindDemand(PreparedStatement ps, int index, DemandDto demand) throws SQLException {
+        boolean present = demand != null;
+        ps.setString(index++, present ? demand.getItemType() : null);
+        setDouble(ps, index++, present ? demand.getWeightKg() : null);
+        ps.setString(index++, present ? demand.getOriginCountry() : null);
+        ps.setString(index++, present ? demand.getOriginCity() : null);
+        ps.setString(index++, present ? demand.getDestinationCountry() : null);
+        ps.setString(index++, present ? demand.getDestinationCity() : null);
+        ps.setDate(index++, present && demand.getDeadline() != null ? Date.valueOf(demand.getDeadline()) : null);
+        ps.setBigDecimal(index++, present ? demand.getRewardAmount() : null);
+        ps.setString(index++, present ? demand.getStatus() : null);
+        return index;
+    }
+
+    private static int bindJourney(PreparedStatement ps, int index, JourneyDto journey) throws SQLException {
+        boolean present = journey != null;
+        ps.setString(index++, present ? journey.getFromCountry() : null);
+        ps.setString(index++, present ? journey.getFromCity() : null);
+        ps.setString(index++, present ? journey.getToCountry() : null);
+        ps.setString(index++, present ? journey.getToCity() : null);
+        ps.setDate(index++, present && journey.getDepartureDate() != null ? Date.valueOf(journey.getDepartureDate()) : null);
+        ps.setDate(index++, present && journey.getArrivalDate() != null ? Date.valueOf(journey.getArrivalDate()) : null);
+        setDouble(ps, index++, present ? journey.getAvailableWeight() : null);
+        ps.setString(index++, present ? journey.getStatus() : null);
+        return index;
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+}
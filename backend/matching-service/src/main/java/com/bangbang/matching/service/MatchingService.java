@@ -1,6 +1,9 @@
 package com.bangbang.matching.service;
 
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
 import com.bangbang.matching.dto.MatchDto;
+import com.bangbang.matching.dto.MatchPage;
 import com.bangbang.matching.model.MatchStatus;
 
 import java.util.List;
@@ -17,6 +20,12 @@ public interface MatchingService {
      */
     List<MatchDto> getMatchesByStatusAndUserId(MatchStatus status, String userId);
 
+    /**
+     * Page through a user's matches (both as demander and traveler), newest first.
+     * A null status returns matches of every status.
+     */
+    MatchPage getMatchPage(String userId, MatchStatus status, String cursor, int limit);
+
     /**
      * Get matches for a specific demand
      */
@@ -42,6 +51,18 @@ public interface MatchingService {
      */
     List<MatchDto> findMatchesForJourney(Long journeyId);
     
+    /**
+     * Score a new or changed demand against its corridor and persist new proposed matches.
+     * Returns the number of matches created.
+     */
+    int proposeMatchesForDemand(DemandDto demand);
+    
+    /**
+     * Score a new or changed journey against its corridor and persist new proposed matches.
+     * Returns the number of matches created.
+     */
+    int proposeMatchesForJourney(JourneyDto journey);
+    
     /**
      * Confirm a match from the demander's side
      */
@@ -1,25 +1,39 @@
 package com.bangbang.matching.service;
 
-import com.bangbang.matching.client.DemandServiceClient;
-import com.bangbang.matching.client.JourneyServiceClient;
+import com.bangbang.matching.client.ListingCache;
+import com.bangbang.matching.config.MatchingProperties;
 import com.bangbang.matching.dto.DemandDto;
 import com.bangbang.matching.dto.JourneyDto;
 import com.bangbang.matching.dto.MatchDto;
+import com.bangbang.matching.dto.MatchPage;
 import com.bangbang.matching.exception.InvalidMatchStateException;
 import com.bangbang.matching.exception.MatchNotFoundException;
 import com.bangbang.matching.exception.UnauthorizedException;
+import com.bangbang.matching.index.CorridorIndex;
 import com.bangbang.matching.mapper.MatchMapper;
 import com.bangbang.matching.model.Match;
 import com.bangbang.matching.model.MatchStatus;
+import com.bangbang.matching.model.MatchView;
 import com.bangbang.matching.repository.MatchRepository;
+import com.bangbang.matching.repository.MatchViewRepository;
+import com.bangbang.matching.shard.CorridorForwarder;
+import com.bangbang.matching.shard.CorridorRing;
+import com.bangbang.matching.trace.MatchStageTimer;
+import com.bangbang.matching.trace.MatchTrace;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -28,413 +42,335 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MatchingServiceImpl implements MatchingService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final ParameterizedTypeReference<List<MatchDto>> MATCH_LIST = new ParameterizedTypeReference<>() { };
+    private static final Comparator<MatchView> NEWEST_FIRST = Comparator
+            .comparing(MatchView::getMatchedAt)
+            .thenComparing(MatchView::getMatchId)
+            .reversed();
+
     private final MatchRepository matchRepository;
-    private final DemandServiceClient demandServiceClient;
-    private final JourneyServiceClient journeyServiceClient;
+    private final ListingCache listingCache;
     private final MatchMapper matchMapper;
+    private final CorridorIndex corridorIndex;
+    private final MatchEnricher matchEnricher;
+    private final MatchViewRepository matchViewRepository;
+    private final MatchViewProjector matchViewProjector;
+    private final CandidateFilter candidateFilter;
+    private final MatchSelector matchSelector;
+    private final AssignmentService assignmentService;
+    private final MatchingProperties matchingProperties;
+    private final CorridorRing corridorRing;
+    private final CorridorForwarder corridorForwarder;
+    private final MatchStageTimer stageTimer;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
 
     @Override
     @Transactional(readOnly = true)
     public List<MatchDto> getMatchesByUserId(String userId) {
-        List<Match> matches = matchRepository.findByUserId(userId);
-        return enhanceMatchesWithDetails(matches);
+        return toDtos(matchViewRepository.findByUserId(userId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MatchDto> getMatchesByStatusAndUserId(MatchStatus status, String userId) {
-        List<Match> matches = matchRepository.findByStatusAndUserId(status, userId);
-        return enhanceMatchesWithDetails(matches);
+        return toDtos(matchViewRepository.findByStatusAndUserId(status, userId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MatchPage getMatchPage(String userId, MatchStatus status, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        MatchCursor position = MatchCursor.decode(cursor);
+        // One extra row per side tells whether another page follows
+        Pageable window = PageRequest.of(0, pageSize + 1);
+        Long travelerId = parseTravelerId(userId);
+        
+        List<MatchView> demanderSide = status == null
+                ? matchViewRepository.findDemanderPage(userId, position.getMatchedAt(), position.getMatchId(), window)
+                : matchViewRepository.findDemanderPageByStatus(
+                        userId, status, position.getMatchedAt(), position.getMatchId(), window);
+        List<MatchView> travelerSide;
+        if (travelerId == null) {
+            travelerSide = Collections.emptyList();
+        } else if (status == null) {
+            travelerSide = matchViewRepository.findTravelerPage(
+                    travelerId, position.getMatchedAt(), position.getMatchId(), window);
+        } else {
+            travelerSide = matchViewRepository.findTravelerPageByStatus(
+                    travelerId, status, position.getMatchedAt(), position.getMatchId(), window);
+        }
+        
+        List<MatchView> merged = mergeNewestFirst(demanderSide, travelerSide, pageSize + 1);
+        boolean hasMore = merged.size() > pageSize;
+        List<MatchView> page = hasMore ? merged.subList(0, pageSize) : merged;
+        return MatchPage.builder()
+                .items(toDtos(page))
+                .nextCursor(hasMore ? MatchCursor.after(page.get(page.size() - 1)).encode() : null)
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MatchDto> getMatchesByDemandId(String demandId) {
-        List<Match> matches = matchRepository.findByDemandId(demandId);
-        return enhanceMatchesWithDetails(matches);
+        return toDtos(matchViewRepository.findByDemandIdOrderByMatchedAtDesc(demandId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MatchDto> getMatchesByJourneyId(Long journeyId) {
-        List<Match> matches = matchRepository.findByJourneyId(journeyId);
-        return enhanceMatchesWithDetails(matches);
+        return toDtos(matchViewRepository.findByJourneyIdOrderByMatchedAtDesc(journeyId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public MatchDto getMatchById(Long matchId) {
         Match match = findMatchById(matchId);
-        return enhanceMatchWithDetails(matchMapper.matchToMatchDto(match));
+        return matchEnricher.enrich(matchMapper.matchToMatchDto(match));
     }
 
+    /**
+     * The demand is fetched and, when another replica owns its corridor, forwarded before any
+     * transaction begins, so no database connection is held across the remote calls.
+     */
     @Override
-    @Transactional
     public List<MatchDto> findMatchesForDemand(String demandId) {
         log.info("Finding matches for demand: {}", demandId);
         
         // 1. Get the demand
-        DemandDto demand = demandServiceClient.getDemandById(demandId);
+        DemandDto demand = stageTimer.time("fetch", () -> listingCache.getDemand(demandId));
         
         // 2. Check if demand is in valid status
         if (!"PENDING".equals(demand.getStatus())) {
             throw new InvalidMatchStateException("Demand must be in PENDING status to find matches");
         }
-        
-        // 3. Get existing active matches for this demand to avoid duplicates
-        Set<Long> existingMatchedJourneyIds = matchRepository.findActiveMatchesByDemandId(demandId).stream()
-                .map(Match::getJourneyId)
-                .collect(Collectors.toSet());
-        
-        // 4. Find potential journeys using the algorithm
-        List<JourneyDto> potentialJourneys = findPotentialJourneysForDemand(demand, existingMatchedJourneyIds);
-        
-        // 5. Calculate match scores and create match records
-        List<Match> newMatches = new ArrayList<>();
-        for (JourneyDto journey : potentialJourneys) {
-            double matchScore = calculateMatchScore(demand, journey);
-            if (matchScore >= 0.5) { // Only create matches with a minimum score
-                Match match = Match.builder()
-                        .demandId(demand.getId())
-                        .journeyId(journey.getId())
-                        .demandUserId(demand.getUserId())
-                        .journeyUserId(journey.getUserId())
-                        .status(MatchStatus.PROPOSED)
-                        .matchScore(matchScore)
-                        .demanderConfirmed(false)
-                        .travelerConfirmed(false)
-                        .build();
-                newMatches.add(match);
-            }
+        Optional<ServiceInstance> owner = corridorRing.remoteOwnerOf(demand);
+        if (owner.isPresent() && !CorridorForwarder.isForwardedRequest()) {
+            // Another replica indexes this corridor and does the matching
+            return stageTimer.time("forward", () -> corridorForwarder.post(
+                    owner.get(), "/api/v1/matches/demand/" + demandId + "/find", null, MATCH_LIST));
         }
+        stageTimer.time("index", () -> corridorIndex.upsertDemand(demand));
         
-        // 6. Save new matches
-        if (!newMatches.isEmpty()) {
-            newMatches = matchRepository.saveAll(newMatches);
-            log.info("Created {} new matches for demand {}", newMatches.size(), demandId);
-        }
+        // 3. Score the demand against its corridor and save new matches
+        List<MatchView> views = transactionTemplate.execute(status -> {
+            proposeMatchesForDemand(demand);
+            return stageTimer.time("read", () -> matchViewRepository.findByDemandIdOrderByMatchedAtDesc(demandId));
+        });
         
-        // 7. Return all matches for this demand including existing ones
-        return enhanceMatchesWithDetails(matchRepository.findByDemandId(demandId));
+        // 4. Return all matches for this demand including existing ones
+        return toDtos(views);
     }
 
+    /**
+     * The journey is fetched and, when another replica owns its corridor, forwarded before any
+     * transaction begins, so no database connection is held across the remote calls.
+     */
     @Override
-    @Transactional
     public List<MatchDto> findMatchesForJourney(Long journeyId) {
         log.info("Finding matches for journey: {}", journeyId);
         
         // 1. Get the journey
-        JourneyDto journey = journeyServiceClient.getJourneyById(journeyId);
+        JourneyDto journey = stageTimer.time("fetch", () -> listingCache.getJourney(journeyId));
         
         // 2. Check if journey is in valid status
         if (!"ACTIVE".equals(journey.getStatus())) {
             throw new InvalidMatchStateException("Journey must be in ACTIVE status to find matches");
         }
-        
-        // 3. Get existing active matches for this journey to avoid duplicates
-        Set<String> existingMatchedDemandIds = matchRepository.findActiveMatchesByJourneyId(journeyId).stream()
-                .map(Match::getDemandId)
-                .collect(Collectors.toSet());
-        
-        // 4. Find potential demands using the algorithm
-        List<DemandDto> potentialDemands = findPotentialDemandsForJourney(journey, existingMatchedDemandIds);
-        
-        // 5. Calculate match scores and create match records
-        List<Match> newMatches = new ArrayList<>();
-        for (DemandDto demand : potentialDemands) {
-            double matchScore = calculateMatchScore(demand, journey);
-            if (matchScore >= 0.5) { // Only create matches with a minimum score
-                Match match = Match.builder()
-                        .demandId(demand.getId())
-                        .journeyId(journey.getId())
-                        .demandUserId(demand.getUserId())
-                        .journeyUserId(journey.getUserId())
-                        .status(MatchStatus.PROPOSED)
-                        .matchScore(matchScore)
-                        .demanderConfirmed(false)
-                        .travelerConfirmed(false)
-                        .build();
-                newMatches.add(match);
-            }
+        Optional<ServiceInstance> owner = corridorRing.remoteOwnerOf(journey);
+        if (owner.isPresent() && !CorridorForwarder.isForwardedRequest()) {
+            // Another replica indexes this corridor and does the matching
+            return stageTimer.time("forward", () -> corridorForwarder.post(
+                    owner.get(), "/api/v1/matches/journey/" + journeyId + "/find", null, MATCH_LIST));
         }
+        stageTimer.time("index", () -> corridorIndex.upsertJourney(journey));
         
-        // 6. Save new matches
-        if (!newMatches.isEmpty()) {
-            newMatches = matchRepository.saveAll(newMatches);
-            log.info("Created {} new matches for journey {}", newMatches.size(), journeyId);
-        }
+        // 3. Score the journey against its corridor and save new matches
+        List<MatchView> views = transactionTemplate.execute(status -> {
+            proposeMatchesForJourney(journey);
+            return stageTimer.time("read", () -> matchViewRepository.findByJourneyIdOrderByMatchedAtDesc(journeyId));
+        });
         
-        // 7. Return all matches for this journey including existing ones
-        return enhanceMatchesWithDetails(matchRepository.findByJourneyId(journeyId));
+        // 4. Return all matches for this journey including existing ones
+        return toDtos(views);
     }
 
     @Override
     @Transactional
-    public MatchDto confirmMatchByDemander(Long matchId, String userId, boolean confirmed) {
-        log.info("Demander {} {} match {}", userId, confirmed ? "confirming" : "rejecting", matchId);
-        
-        Match match = findMatchById(matchId);
-        
-        // Check authorization
-        if (!match.getDemandUserId().equals(userId)) {
-            throw new UnauthorizedException("User is not authorized to confirm this match");
+    public int proposeMatchesForDemand(DemandDto demand) {
+        if (matchingProperties.getAssignment().isEnabled()) {
+            return stageTimer.time("assign", () -> assignmentService.assignCorridor(corridorIndex.corridorOf(demand)));
         }
         
-        // Check match state
-        if (match.getStatus() != MatchStatus.PROPOSED && match.getStatus() != MatchStatus.PENDING) {
-            throw new InvalidMatchStateException("Match is not in a confirmable state");
+        // 1. Find potential journeys: only the demand's corridor and departures before its deadline are looked at
+        List<JourneyDto> corridorJourneys = stageTimer.time("lookup", () -> corridorIndex.findJourneysForDemand(demand));
+        if (MatchTrace.isActive()) {
+            int corridorSize = corridorIndex.journeyCountNear(corridorIndex.corridorOf(demand));
+            MatchTrace.count("corridor", corridorSize);
+            MatchTrace.count("rejected.date", Math.max(0, corridorSize - corridorJourneys.size()));
+            MatchTrace.count("scanned", corridorJourneys.size());
         }
-        
-        if (confirmed) {
-            match.setDemanderConfirmed(true);
-            
-            // If traveler already confirmed, set to CONFIRMED
-            if (Boolean.TRUE.equals(match.getTravelerConfirmed())) {
-                match.setStatus(MatchStatus.CONFIRMED);
-                match.setConfirmedAt(LocalDateTime.now());
-            } else {
-                match.setStatus(MatchStatus.PENDING);
-            }
-        } else {
-            match.setStatus(MatchStatus.REJECTED);
-            match.setRejectedAt(LocalDateTime.now());
+        List<JourneyDto> potentialJourneys = stageTimer.time("filter",
+                () -> candidateFilter.filterJourneys(demand, corridorJourneys));
+        
+        // 2. Calculate match scores and create match records
+        List<Match> proposedMatches = stageTimer.time("score",
+                () -> matchSelector.selectForDemand(demand, potentialJourneys));
+        MatchTrace.count("selected", proposedMatches.size());
+        
+        // 3. Save new matches; pairs that already have a match are skipped by the unique key
+        int created = stageTimer.time("persist", () -> matchRepository.insertIgnoringDuplicates(proposedMatches));
+        MatchTrace.count("persisted", created);
+        Map<Long, JourneyDto> journeysById = potentialJourneys.stream()
+                .collect(Collectors.toMap(JourneyDto::getId, Function.identity()));
+        stageTimer.time("project", () -> matchViewProjector.project(proposedMatches, demandId -> demand, journeysById::get));
+        if (created > 0) {
+            log.info("Created {} new matches for demand {}", created, demand.getId());
         }
-        
-        Match updatedMatch = matchRepository.save(match);
-        return enhanceMatchWithDetails(matchMapper.matchToMatchDto(updatedMatch));
+        return created;
     }
 
     @Override
     @Transactional
-    public MatchDto confirmMatchByTraveler(Long matchId, Long userId, boolean confirmed) {
-        log.info("Traveler {} {} match {}", userId, confirmed ? "confirming" : "rejecting", matchId);
-        
-        Match match = findMatchById(matchId);
-        
-        // Check authorization
-        if (!match.getJourneyUserId().equals(userId)) {
-            throw new UnauthorizedException("User is not authorized to confirm this match");
+    public int proposeMatchesForJourney(JourneyDto journey) {
+        if (matchingProperties.getAssignment().isEnabled()) {
+            return stageTimer.time("assign", () -> assignmentService.assignCorridor(corridorIndex.corridorOf(journey)));
         }
         
-        // Check match state
-        if (match.getStatus() != MatchStatus.PROPOSED && match.getStatus() != MatchStatus.PENDING) {
-            throw new InvalidMatchStateException("Match is not in a confirmable state");
+        // 1. Find potential demands: only the journey's corridor and deadlines after its departure are looked at
+        List<DemandDto> corridorDemands = stageTimer.time("lookup", () -> corridorIndex.findDemandsForJourney(journey));
+        if (MatchTrace.isActive()) {
+            int corridorSize = corridorIndex.demandCountNear(corridorIndex.corridorOf(journey));
+            MatchTrace.count("corridor", corridorSize);
+            MatchTrace.count("rejected.date", Math.max(0, corridorSize - corridorDemands.size()));
+            MatchTrace.count("scanned", corridorDemands.size());
         }
-        
-        if (confirmed) {
-            match.setTravelerConfirmed(true);
-            
-            // If demander already confirmed, set to CONFIRMED
-            if (Boolean.TRUE.equals(match.getDemanderConfirmed())) {
-                match.setStatus(MatchStatus.CONFIRMED);
-                match.setConfirmedAt(LocalDateTime.now());
-            } else {
-                match.setStatus(MatchStatus.PENDING);
-            }
-        } else {
-            match.setStatus(MatchStatus.REJECTED);
-            match.setRejectedAt(LocalDateTime.now());
+        List<DemandDto> potentialDemands = stageTimer.time("filter",
+                () -> candidateFilter.filterDemands(journey, corridorDemands));
+        
+        // 2. Calculate match scores and create match records
+        List<Match> proposedMatches = stageTimer.time("score",
+                () -> matchSelector.selectForJourney(journey, potentialDemands));
+        MatchTrace.count("selected", proposedMatches.size());
+        
+        // 3. Save new matches; pairs that already have a match are skipped by the unique key
+        int created = stageTimer.time("persist", () -> matchRepository.insertIgnoringDuplicates(proposedMatches));
+        MatchTrace.count("persisted", created);
+        Map<String, DemandDto> demandsById = potentialDemands.stream()
+                .collect(Collectors.toMap(DemandDto::getId, Function.identity()));
+        stageTimer.time("project", () -> matchViewProjector.project(proposedMatches, demandsById::get, journeyId -> journey));
+        if (created > 0) {
+            log.info("Created {} new matches for journey {}", created, journey.getId());
         }
-        
-        Match updatedMatch = matchRepository.save(match);
-        return enhanceMatchWithDetails(matchMapper.matchToMatchDto(updatedMatch));
+        return created;
+    }
+
+    @Override
+    public MatchDto confirmMatchByDemander(Long matchId, String userId, boolean confirmed) {
+        log.info("Demander {} {} match {}", userId, confirmed ? "confirming" : "rejecting", matchId);
+        Match match = applyTransition(confirmed ? "confirm.demander" : "reject.demander", matchId,
+                () -> matchRepository.confirmByDemander(matchId, userId, confirmed),
+                current -> current.getDemandUserId().equals(userId)
+                        ? new InvalidMatchStateException("Match is not in a confirmable state")
+                        : new UnauthorizedException("User is not authorized to confirm this match"));
+        return matchEnricher.enrich(matchMapper.matchToMatchDto(match));
+    }
+
+    @Override
+    public MatchDto confirmMatchByTraveler(Long matchId, Long userId, boolean confirmed) {
+        log.info("Traveler {} {} match {}", userId, confirmed ? "confirming" : "rejecting", matchId);
+        Match match = applyTransition(confirmed ? "confirm.traveler" : "reject.traveler", matchId,
+                () -> matchRepository.confirmByTraveler(matchId, userId, confirmed),
+                current -> current.getJourneyUserId().equals(userId)
+                        ? new InvalidMatchStateException("Match is not in a confirmable state")
+                        : new UnauthorizedException("User is not authorized to confirm this match"));
+        return matchEnricher.enrich(matchMapper.matchToMatchDto(match));
     }
 
     @Override
-    @Transactional
     public MatchDto completeMatch(Long matchId) {
         log.info("Completing match {}", matchId);
-        
-        Match match = findMatchById(matchId);
-        
-        // Check match state
-        if (match.getStatus() != MatchStatus.CONFIRMED) {
-            throw new InvalidMatchStateException("Match must be in CONFIRMED status to be completed");
-        }
-        
-        match.setStatus(MatchStatus.COMPLETED);
-        Match updatedMatch = matchRepository.save(match);
-        
-        return enhanceMatchWithDetails(matchMapper.matchToMatchDto(updatedMatch));
+        Match match = applyTransition("complete", matchId,
+                () -> matchRepository.transition(matchId, MatchStatus.CONFIRMED, MatchStatus.COMPLETED),
+                current -> new InvalidMatchStateException("Match must be in CONFIRMED status to be completed"));
+        return matchEnricher.enrich(matchMapper.matchToMatchDto(match));
     }
 
     @Override
-    @Transactional
     public MatchDto cancelMatch(Long matchId) {
         log.info("Cancelling match {}", matchId);
-        
-        Match match = findMatchById(matchId);
-        
-        // Check match state
-        if (match.getStatus() != MatchStatus.CONFIRMED) {
-            throw new InvalidMatchStateException("Match must be in CONFIRMED status to be cancelled");
-        }
-        
-        match.setStatus(MatchStatus.CANCELLED);
-        Match updatedMatch = matchRepository.save(match);
-        
-        return enhanceMatchWithDetails(matchMapper.matchToMatchDto(updatedMatch));
+        Match match = applyTransition("cancel", matchId,
+                () -> matchRepository.transition(matchId, MatchStatus.CONFIRMED, MatchStatus.CANCELLED),
+                current -> new InvalidMatchStateException("Match must be in CONFIRMED status to be cancelled"));
+        return matchEnricher.enrich(matchMapper.matchToMatchDto(match));
     }
 
     // Private helper methods
 
-    private Match findMatchById(Long matchId) {
-        return matchRepository.findById(matchId)
-                .orElseThrow(() -> new MatchNotFoundException("Match not found with id: " + matchId));
-    }
-
-    private List<MatchDto> enhanceMatchesWithDetails(List<Match> matches) {
-        if (matches.isEmpty()) {
-            return Collections.emptyList();
+    /**
+     * Run a conditional UPDATE and the match_view refresh in one short transaction; the
+     * remote enrichment happens after commit. Concurrent transitions on the same match
+     * serialize on the row lock and the loser sees zero rows updated. The match is then read
+     * back to explain why the transition was refused.
+     */
+    private Match applyTransition(String transition, Long matchId, BooleanSupplier update,
+                                  Function<Match, RuntimeException> refusal) {
+        long start = System.nanoTime();
+        boolean applied = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (!update.getAsBoolean()) {
+                return false;
+            }
+            matchViewProjector.refreshMatchState(matchId);
+            return true;
+        }));
+        meterRegistry.timer("matching.transition", "transition", transition, "outcome", applied ? "applied" : "refused")
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        Match match = findMatchById(matchId);
+        if (!applied) {
+            throw refusal.apply(match);
         }
-        
-        // Collect all demand ids and journey ids
-        Set<String> demandIds = matches.stream().map(Match::getDemandId).collect(Collectors.toSet());
-        Set<Long> journeyIds = matches.stream().map(Match::getJourneyId).collect(Collectors.toSet());
-        
-        // Batch fetch demands and journeys
-        Map<String, DemandDto> demandMap = fetchDemandsById(demandIds);
-        Map<Long, JourneyDto> journeyMap = fetchJourneysById(journeyIds);
-        
-        // Map to DTOs and enhance with details
-        return matches.stream()
-                .map(matchMapper::matchToMatchDto)
-                .peek(dto -> {
-                    dto.setDemand(demandMap.get(dto.getDemandId()));
-                    dto.setJourney(journeyMap.get(dto.getJourneyId()));
-                })
-                .collect(Collectors.toList());
+        return match;
     }
 
-    private MatchDto enhanceMatchWithDetails(MatchDto matchDto) {
-        try {
-            matchDto.setDemand(demandServiceClient.getDemandById(matchDto.getDemandId()));
-            matchDto.setJourney(journeyServiceClient.getJourneyById(matchDto.getJourneyId()));
-        } catch (Exception e) {
-            log.error("Error fetching demand or journey details for match {}", matchDto.getId(), e);
-        }
-        return matchDto;
+    private Match findMatchById(Long matchId) {
+        return matchRepository.findById(matchId)
+                .orElseThrow(() -> new MatchNotFoundException("Match not found with id: " + matchId));
     }
 
-    private Map<String, DemandDto> fetchDemandsById(Set<String> demandIds) {
-        try {
-            return demandIds.stream()
-                    .map(demandServiceClient::getDemandById)
-                    .collect(Collectors.toMap(DemandDto::getId, Function.identity()));
-        } catch (Exception e) {
-            log.error("Error batch fetching demands", e);
-            return Collections.emptyMap();
+    /**
+     * Merge two pages that are each sorted newest first. A match where the user is on both
+     * sides shows up in both pages at the same position and is kept once.
+     */
+    private static List<MatchView> mergeNewestFirst(List<MatchView> first, List<MatchView> second, int limit) {
+        List<MatchView> merged = new ArrayList<>(Math.min(limit, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < first.size() || j < second.size())) {
+            MatchView next;
+            if (j >= second.size() || (i < first.size() && NEWEST_FIRST.compare(first.get(i), second.get(j)) <= 0)) {
+                next = first.get(i++);
+            } else {
+                next = second.get(j++);
+            }
+            if (merged.isEmpty() || !merged.get(merged.size() - 1).getMatchId().equals(next.getMatchId())) {
+                merged.add(next);
+            }
         }
+        return merged;
     }
 
-    private Map<Long, JourneyDto> fetchJourneysById(Set<Long> journeyIds) {
+    private static Long parseTravelerId(String userId) {
         try {
-            return journeyIds.stream()
-                    .map(journeyServiceClient::getJourneyById)
-                    .collect(Collectors.toMap(JourneyDto::getId, Function.identity()));
-        } catch (Exception e) {
-            log.error("Error batch fetching journeys", e);
-            return Collections.emptyMap();
+            return Long.valueOf(userId);
+        } catch (NumberFormatException e) {
+            return null;
         }
     }
 
-    private List<JourneyDto> findPotentialJourneysForDemand(DemandDto demand, Set<Long> existingMatchedJourneyIds) {
-        // Only find journeys that are in ACTIVE status and have future departure dates
-        List<JourneyDto> activeJourneys = journeyServiceClient.getJourneysByStatus("ACTIVE");
-        
-        return activeJourneys.stream()
-                // Filter out journeys already matched
-                .filter(journey -> !existingMatchedJourneyIds.contains(journey.getId()))
-                // Basic route matching
-                .filter(journey -> routeMatches(
-                        demand.getOriginCountry(), demand.getOriginCity(),
-                        demand.getDestinationCountry(), demand.getDestinationCity(),
-                        journey.getFromCountry(), journey.getFromCity(),
-                        journey.getToCountry(), journey.getToCity()))
-                // Check item weight constraints
-                .filter(journey -> journey.getAvailableWeight() >= demand.getWeightKg())
-                // Check dates - journey must depart before the demand deadline
-                .filter(journey -> journey.getDepartureDate().isBefore(demand.getDeadline()))
-                // Check if the journey allows the item type (if preferredItemTypes is specified)
-                .filter(journey -> journey.getPreferredItemTypes() == null 
-                        || journey.getPreferredItemTypes().isEmpty()
-                        || journey.getPreferredItemTypes().contains(demand.getItemType()))
+    private List<MatchDto> toDtos(List<MatchView> views) {
+        return views.stream()
+                .map(matchMapper::matchViewToMatchDto)
                 .collect(Collectors.toList());
     }
-
-    private List<DemandDto> findPotentialDemandsForJourney(JourneyDto journey, Set<String> existingMatchedDemandIds) {
-        // Only find demands that are in PENDING status
-        List<DemandDto> pendingDemands = demandServiceClient.searchDemands(null, null, null, null, null, null, "PENDING");
-        
-        LocalDate journeyDeparture = journey.getDepartureDate();
-        
-        return pendingDemands.stream()
-                // Filter out demands already matched
-                .filter(demand -> !existingMatchedDemandIds.contains(demand.getId()))
-                // Basic route matching
-                .filter(demand -> routeMatches(
-                        demand.getOriginCountry(), demand.getOriginCity(),
-                        demand.getDestinationCountry(), demand.getDestinationCity(),
-                        journey.getFromCountry(), journey.getFromCity(),
-                        journey.getToCountry(), journey.getToCity()))
-                // Check item weight constraints
-                .filter(demand -> journey.getAvailableWeight() >= demand.getWeightKg())
-                // Check dates - journey must depart before the demand deadline
-                .filter(demand -> journeyDeparture.isBefore(demand.getDeadline()))
-                // Check if the journey allows the item type (if preferredItemTypes is specified)
-                .filter(demand -> journey.getPreferredItemTypes() == null 
-                        || journey.getPreferredItemTypes().isEmpty()
-                        || journey.getPreferredItemTypes().contains(demand.getItemType()))
-                .collect(Collectors.toList());
-    }
-
-    private boolean routeMatches(
-            String demandOriginCountry, String demandOriginCity,
-            String demandDestCountry, String demandDestCity,
-            String journeyFromCountry, String journeyFromCity,
-            String journeyToCountry, String journeyToCity) {
-        
-        // Country must match exactly
-        boolean originCountryMatch = demandOriginCountry.equalsIgnoreCase(journeyFromCountry);
-        boolean destCountryMatch = demandDestCountry.equalsIgnoreCase(journeyToCountry);
-        
-        // For cities, we check exact match or null (for flexibility)
-        boolean originCityMatch = demandOriginCity.equalsIgnoreCase(journeyFromCity);
-        boolean destCityMatch = demandDestCity.equalsIgnoreCase(journeyToCity);
-        
-        return originCountryMatch && destCountryMatch && originCityMatch && destCityMatch;
-    }
-
-    private double calculateMatchScore(DemandDto demand, JourneyDto journey) {
-        // Base score starts at 0.6 if routes match
-        double score = 0.6;
-        
-        // Route matching already verified, now we calculate additional score factors
-        
-        // 1. Weight capacity - more available weight is better (up to 0.1)
-        double weightRatio = Math.min(1.0, (journey.getAvailableWeight() / demand.getWeightKg()));
-        score += 0.1 * weightRatio;
-        
-        // 2. Item type preference match (up to 0.1)
-        if (journey.getPreferredItemTypes() != null 
-                && !journey.getPreferredItemTypes().isEmpty()
-                && journey.getPreferredItemTypes().contains(demand.getItemType())) {
-            score += 0.1;
-        }
-        
-        // 3. Time factor - if journey is well before deadline (up to 0.1)
-        long daysBeforeDeadline = Math.max(0, 
-                demand.getDeadline().toEpochDay() - journey.getDepartureDate().toEpochDay());
-        // Max score for 7+ days before deadline
-        score += Math.min(0.1, daysBeforeDeadline * 0.015);
-        
-        // 4. Proximity bonus for city match (up to 0.1)
-        if (demand.getOriginCity().equalsIgnoreCase(journey.getFromCity()) 
-                && demand.getDestinationCity().equalsIgnoreCase(journey.getToCity())) {
-            score += 0.1;
-        }
-        
-        // Ensure score is between 0 and 1
-        return Math.min(1.0, Math.max(0.0, score));
-    }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,354 @@
+package com.bangbang.matching.service;
+
+import com.bangbang.matching.client.DemandServiceClient;
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.exception.RematchJobConflictException;
+import com.bangbang.matching.exception.RematchJobNotFoundException;
+import com.bangbang.matching.index.CorridorIndex;
+import com.bangbang.matching.index.CorridorKey;
+import com.bangbang.matching.model.Match;
+import com.bangbang.matching.model.MatchStatus;
+import com.bangbang.matching.model.RematchJob;
+import com.bangbang.matching.model.RematchJobStatus;
+import com.bangbang.matching.repository.MatchRepository;
+import com.bangbang.matching.repository.RematchJobRepository;
+import com.bangbang.matching.shard.CorridorRing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk "rematch all" job. Walks every PENDING demand in keyset-paginated chunks, joins each
+ * chunk with the corridor index in memory and writes the resulting matches with JDBC batch
+ * statements; pairs matched concurrently by the event path are skipped by the unique key.
+ * Each chunk commits together with the job checkpoint, so a job interrupted by a crash or a
+ * restart resumes after the last committed chunk without redoing it.
+ * Only one job runs at a time. The checkpoint only advances while the job is still RUNNING
+ * under this replica's lease, so a cancel or a takeover is never overwritten by a chunk.
+ * With sharding enabled the corridor index only holds the corridors this replica owns, so a
+ * job rescores just the demands on those; demands owned by other replicas are skipped and
+ * reported in demandsSkipped instead of being counted as processed with no candidates.
+ */
+@Service
+@Slf4j
+public class RematchJobService {
+
+    private static final String PENDING_DEMAND = "PENDING";
+
+    private final RematchJobRepository rematchJobRepository;
+    private final MatchRepository matchRepository;
+    private final DemandServiceClient demandServiceClient;
+    private final CorridorIndex corridorIndex;
+    private final CorridorRing corridorRing;
+    private final CandidateFilter candidateFilter;
+    private final MatchSelector matchSelector;
+    private final AssignmentService assignmentService;
+    private final MatchViewProjector matchViewProjector;
+    private final MatchingProperties matchingProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Counter demandsCounter;
+    private final Timer chunkTimer;
+    private volatile double demandsPerSecond;
+
+    public RematchJobService(RematchJobRepository rematchJobRepository,
+                             MatchRepository matchRepository,
+                             DemandServiceClient demandServiceClient,
+                             CorridorIndex corridorIndex,
+                             CorridorRing corridorRing,
+                             CandidateFilter candidateFilter,
+                             MatchSelector matchSelector,
+                             AssignmentService assignmentService,
+                             MatchViewProjector matchViewProjector,
+                             MatchingProperties matchingProperties,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry) {
+        this.rematchJobRepository = rematchJobRepository;
+        this.matchRepository = matchRepository;
+        this.demandServiceClient = demandServiceClient;
+        this.corridorIndex = corridorIndex;
+        this.corridorRing = corridorRing;
+        this.candidateFilter = candidateFilter;
+        this.matchSelector = matchSelector;
+        this.assignmentService = assignmentService;
+        this.matchViewProjector = matchViewProjector;
+        this.matchingProperties = matchingProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rematch-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.demandsCounter = Counter.builder("matching.rematch.demands")
+                .description("Pending demands rescored by rematch jobs")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("matching.rematch.chunk")
+                .description("Time to fetch, match and commit one chunk of demands")
+                .register(meterRegistry);
+        Gauge.builder("matching.rematch.throughput", this, service -> service.demandsPerSecond)
+                .description("Demands per second over the last committed chunk")
+                .baseUnit("demands/s")
+                .register(meterRegistry);
+    }
+
+    public synchronized RematchJob startJob() {
+        ensureNoJobRunning();
+        RematchJob job = rematchJobRepository.save(RematchJob.builder()
+                .status(RematchJobStatus.RUNNING)
+                .owner(instanceId)
+                .leaseExpiresAt(leaseExpiry(LocalDateTime.now()))
+                .build());
+        log.info("Starting rematch job {}", job.getId());
+        executor.execute(() -> run(job.getId()));
+        return job;
+    }
+
+    /**
+     * Continue a failed or cancelled job from its checkpoint
+     */
+    public synchronized RematchJob resumeJob(Long jobId) {
+        RematchJob job = getJob(jobId);
+        if (job.getStatus() != RematchJobStatus.FAILED && job.getStatus() != RematchJobStatus.CANCELLED) {
+            throw new RematchJobConflictException("Rematch job " + jobId + " is " + job.getStatus());
+        }
+        ensureNoJobRunning();
+        job.setStatus(RematchJobStatus.RUNNING);
+        job.setErrorMessage(null);
+        job.setFinishedAt(null);
+        job.setOwner(instanceId);
+        job.setLeaseExpiresAt(leaseExpiry(LocalDateTime.now()));
+        RematchJob resumed = rematchJobRepository.save(job);
+        log.info("Resuming rematch job {} after demand {}", jobId, job.getLastDemandId());
+        executor.execute(() -> run(jobId));
+        return resumed;
+    }
+
+    /**
+     * Stop a running job once its current chunk is committed
+     */
+    public synchronized RematchJob cancelJob(Long jobId) {
+        getJob(jobId);
+        int cancelled = rematchJobRepository.stopRunning(jobId, null, RematchJobStatus.CANCELLED, null,
+                LocalDateTime.now(), RematchJobStatus.RUNNING);
+        if (cancelled == 0) {
+            throw new RematchJobConflictException("Rematch job " + jobId + " is not running");
+        }
+        return getJob(jobId);
+    }
+
+    public RematchJob getJob(Long jobId) {
+        return rematchJobRepository.findById(jobId)
+                .orElseThrow(() -> new RematchJobNotFoundException("Rematch job not found with id: " + jobId));
+    }
+
+    public List<RematchJob> getJobs() {
+        return rematchJobRepository.findAllByOrderByIdDesc();
+    }
+
+    /**
+     * A RUNNING job whose lease expired was interrupted by a crash or shutdown of the replica
+     * running it. Such a job is claimed by exactly one replica; jobs still renewed by a live
+     * replica are left alone. Runs after the corridor index warm-up so that resumed chunks see a
+     * populated index, and again every lease period for jobs whose lease expires later.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${matching.rematch.lease-ms:120000}",
+            fixedDelayString = "${matching.rematch.lease-ms:120000}")
+    public void resumeInterruptedJobs() {
+        if (!matchingProperties.getRematch().isResumeOnStartup()) {
+            return;
+        }
+        for (RematchJob job : rematchJobRepository.findByStatus(RematchJobStatus.RUNNING)) {
+            LocalDateTime now = LocalDateTime.now();
+            int claimed = rematchJobRepository.claimExpired(job.getId(), instanceId, leaseExpiry(now), now,
+                    RematchJobStatus.RUNNING);
+            if (claimed == 1) {
+                log.info("Resuming interrupted rematch job {} after demand {}", job.getId(), job.getLastDemandId());
+                executor.execute(() -> run(job.getId()));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void ensureNoJobRunning() {
+        if (rematchJobRepository.existsByStatus(RematchJobStatus.RUNNING)) {
+            throw new RematchJobConflictException("A rematch job is already running");
+        }
+    }
+
+    private void run(Long jobId) {
+        int chunkSize = matchingProperties.getRematch().getChunkSize();
+        Set<CorridorKey> assignedCorridors = new HashSet<>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                RematchJob job = rematchJobRepository.findById(jobId).orElse(null);
+                if (job == null || job.getStatus() != RematchJobStatus.RUNNING
+                        || !instanceId.equals(job.getOwner())) {
+                    log.info("Rematch job {} stopped", jobId);
+                    return;
+                }
+
+                long start = System.nanoTime();
+                List<DemandDto> chunk = demandServiceClient.scanDemandsByStatus(
+                        PENDING_DEMAND, job.getLastDemandId(), chunkSize);
+                if (chunk.isEmpty()) {
+                    finish(jobId);
+                    return;
+                }
+                String lastDemandId = chunk.get(chunk.size() - 1).getId();
+                List<DemandDto> local = chunk.stream().filter(corridorRing::isLocal).collect(Collectors.toList());
+                int skipped = chunk.size() - local.size();
+                Boolean committed = transactionTemplate.execute(status -> matchingProperties.getAssignment().isEnabled()
+                        ? assignChunk(jobId, lastDemandId, local, skipped, assignedCorridors, status)
+                        : processChunk(jobId, lastDemandId, local, skipped, status));
+                if (!Boolean.TRUE.equals(committed)) {
+                    log.info("Rematch job {} stopped", jobId);
+                    return;
+                }
+
+                long elapsedNanos = System.nanoTime() - start;
+                chunkTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                demandsCounter.increment(local.size());
+                demandsPerSecond = local.size() * 1e9 / Math.max(1, elapsedNanos);
+            }
+        } catch (Exception e) {
+            log.error("Rematch job {} failed", jobId, e);
+            fail(jobId, e);
+        }
+    }
+
+    /**
+     * Match the local demands of one chunk and advance the checkpoint past the whole chunk in
+     * the same transaction. The chunk is rolled back when the job was cancelled or taken over
+     * while it was being matched.
+     */
+    private boolean processChunk(Long jobId, String lastDemandId, List<DemandDto> chunk, int skipped,
+                                 TransactionStatus status) {
+        List<String> demandIds = chunk.stream().map(DemandDto::getId).collect(Collectors.toList());
+        Map<String, Map<Long, Match>> activeMatches = matchRepository.findActiveMatchesByDemandIdIn(demandIds).stream()
+                .collect(Collectors.groupingBy(Match::getDemandId,
+                        Collectors.toMap(Match::getJourneyId, Function.identity(), (first, second) -> first)));
+
+        Map<String, DemandDto> demandsById = chunk.stream()
+                .collect(Collectors.toMap(DemandDto::getId, Function.identity(), (first, second) -> first));
+        Map<Long, JourneyDto> journeysById = new HashMap<>();
+        List<Match> newMatches = new ArrayList<>();
+        List<Match> rescoredMatches = new ArrayList<>();
+        for (DemandDto demand : chunk) {
+            List<JourneyDto> candidates = candidateFilter.filterJourneys(
+                    demand, corridorIndex.findJourneysForDemand(demand));
+            candidates.forEach(journey -> journeysById.put(journey.getId(), journey));
+            Map<Long, Match> existing = activeMatches.getOrDefault(demand.getId(), Collections.emptyMap());
+            for (Match match : matchSelector.selectForDemand(demand, candidates)) {
+                Match current = existing.get(match.getJourneyId());
+                if (current == null) {
+                    newMatches.add(match);
+                } else if (current.getStatus() == MatchStatus.PROPOSED
+                        && (!Objects.equals(current.getMatchScore(), match.getMatchScore())
+                        || !Objects.equals(current.getExpiresOn(), match.getExpiresOn()))) {
+                    // Detached copy, so the managed entity is not flushed a second time
+                    rescoredMatches.add(Match.builder().id(current.getId()).matchScore(match.getMatchScore())
+                            .expiresOn(match.getExpiresOn()).build());
+                }
+            }
+        }
+
+        int created = matchRepository.insertIgnoringDuplicates(newMatches);
+        int rescored = matchRepository.updateProposedScores(rescoredMatches);
+        matchViewProjector.project(newMatches, demandsById::get, journeysById::get);
+        matchViewProjector.refreshMatchState(rescoredMatches.stream().map(Match::getId).collect(Collectors.toList()));
+        return advanceCheckpoint(jobId, lastDemandId, chunk.size(), skipped, created, rescored, status);
+    }
+
+    /**
+     * With capacity-aware assignment enabled, proposals are decided per corridor rather than
+     * per demand: the chunk reassigns every corridor its demands sit on that this run has not
+     * assigned yet.
+     */
+    private boolean assignChunk(Long jobId, String lastDemandId, List<DemandDto> chunk, int skipped,
+                                Set<CorridorKey> assignedCorridors, TransactionStatus status) {
+        int created = 0;
+        for (DemandDto demand : chunk) {
+            CorridorKey key = corridorIndex.corridorOf(demand);
+            if (!assignedCorridors.contains(key)) {
+                created += assignmentService.assignCorridor(key);
+                assignedCorridors.add(key);
+            }
+        }
+        return advanceCheckpoint(jobId, lastDemandId, chunk.size(), skipped, created, 0, status);
+    }
+
+    private boolean advanceCheckpoint(Long jobId, String lastDemandId, int processed, int skipped, int created,
+                                      int rescored, TransactionStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        int advanced = rematchJobRepository.advanceCheckpoint(jobId, instanceId, lastDemandId,
+                processed, skipped, created, rescored, leaseExpiry(now), now, RematchJobStatus.RUNNING);
+        if (advanced == 0) {
+            status.setRollbackOnly();
+            return false;
+        }
+        return true;
+    }
+
+    private void finish(Long jobId) {
+        int completed = rematchJobRepository.stopRunning(jobId, instanceId, RematchJobStatus.COMPLETED, null,
+                LocalDateTime.now(), RematchJobStatus.RUNNING);
+        if (completed == 0) {
+            log.info("Rematch job {} stopped", jobId);
+            return;
+        }
+        rematchJobRepository.findById(jobId).ifPresent(job ->
+                log.info("Rematch job {} completed: {} demands, {} skipped on other replicas, {} new matches, {} rescored",
+                        jobId, job.getDemandsProcessed(), job.getDemandsSkipped(), job.getMatchesCreated(),
+                        job.getMatchesRescored()));
+    }
+
+    private void fail(Long jobId, Exception e) {
+        try {
+            String message = Objects.toString(e.getMessage(), e.getClass().getName());
+            rematchJobRepository.stopRunning(jobId, instanceId, RematchJobStatus.FAILED,
+                    message.length() > 500 ? message.substring(0, 500) : message,
+                    LocalDateTime.now(), RematchJobStatus.RUNNING);
+        } catch (Exception saveError) {
+            log.error("Could not record failure of rematch job {}", jobId, saveError);
+        }
+    }
+
+    private LocalDateTime leaseExpiry(LocalDateTime now) {
+        return now.plus(Duration.ofMillis(matchingProperties.getRematch().getLeaseMs()));
+    }
+}
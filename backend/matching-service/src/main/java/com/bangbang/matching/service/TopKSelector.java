@@ -0,0 +1,96 @@
+package com.bangbang.matching.service;
+
+import java.util.Arrays;
+
+/**
+ * Keeps the K best (score, candidate) pairs seen so far in a binary min-heap over
+ * primitive arrays, so streaming thousands of candidates allocates nothing per candidate.
+ * The heap root is the current K-th best score, which callers use as a pruning threshold.
+ */
+final class TopKSelector {
+
+    private final double[] scores;
+    private final int[] candidates;
+    private int size;
+
+    TopKSelector(int k) {
+        this.scores = new double[k];
+        this.candidates = new int[k];
+    }
+
+    boolean isFull() {
+        return size == scores.length;
+    }
+
+    /**
+     * Score a candidate must beat to enter the selection
+     */
+    double threshold() {
+        return isFull() ? scores[0] : Double.NEGATIVE_INFINITY;
+    }
+
+    void offer(double score, int candidate) {
+        if (!isFull()) {
+            scores[size] = score;
+            candidates[size] = candidate;
+            siftUp(size++);
+        } else if (score > scores[0]) {
+            scores[0] = score;
+            candidates[0] = candidate;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Visit the selected candidates, best score first
+     */
+    void forEachDescending(Visitor visitor) {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+        for (Integer slot : order) {
+            visitor.visit(candidates[slot], scores[slot]);
+        }
+    }
+
+    interface Visitor {
+        void visit(int candidate, double score);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= size) {
+                return;
+            }
+            int smallest = left + 1 < size && scores[left + 1] < scores[left] ? left + 1 : left;
+            if (scores[index] <= scores[smallest]) {
+                return;
+            }
+            swap(index, smallest);
+            index = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+        int candidate = candidates[a];
+        candidates[a] = candidates[b];
+        candidates[b] = candidate;
+    }
+}
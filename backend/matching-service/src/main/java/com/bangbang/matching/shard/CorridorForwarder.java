@@ -0,0 +1,96 @@
+package com.bangbang.matching.shard;
+
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.trace.MatchTrace;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.RequestEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.servlet.http.HttpServletRequest;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Forwards requests for a corridor to the replica that owns it.
+ * Forwarded requests carry {@link #FORWARDED_HEADER}; the receiving replica handles them
+ * locally whatever its own view of the ring, so a request is forwarded at most once even
+ * while replicas briefly disagree on membership.
+ */
+@Component
+@Slf4j
+public class CorridorForwarder {
+
+    public static final String FORWARDED_HEADER = "X-Matching-Forwarded";
+
+    private final RestTemplate restTemplate;
+    private final String contextPath;
+
+    public CorridorForwarder(RestTemplateBuilder restTemplateBuilder,
+                             MatchingProperties matchingProperties,
+                             @Value("${server.servlet.context-path:}") String contextPath) {
+        Duration timeout = Duration.ofMillis(matchingProperties.getSharding().getForwardTimeoutMs());
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(timeout)
+                .setReadTimeout(timeout)
+                .build();
+        this.contextPath = contextPath;
+    }
+
+    /**
+     * POST the body to the same path on another replica, passing the caller's credentials along.
+     * Inside a match trace the owner is asked to trace too, and its summary joins this one.
+     */
+    public <T> T post(ServiceInstance owner, String path, Object body, ParameterizedTypeReference<T> responseType) {
+        URI uri = UriComponentsBuilder.fromUri(owner.getUri())
+                .path(contextPath)
+                .path(path)
+                .build()
+                .toUri();
+        RequestEntity.BodyBuilder request = RequestEntity.post(uri).header(FORWARDED_HEADER, "true");
+        currentRequest()
+                .map(current -> current.getHeader(HttpHeaders.AUTHORIZATION))
+                .ifPresent(authorization -> request.header(HttpHeaders.AUTHORIZATION, authorization));
+        boolean traced = MatchTrace.isActive();
+        if (traced) {
+            request.header(MatchTrace.HEADER, "true");
+        }
+        log.debug("Forwarding {} to {}", path, owner.getInstanceId());
+        ResponseEntity<T> response = restTemplate.exchange(body != null ? request.body(body) : request.build(), responseType);
+        if (traced) {
+            MatchTrace.recordRemote(response.getHeaders().getFirst(MatchTrace.HEADER));
+        }
+        return response.getBody();
+    }
+
+    public void post(ServiceInstance owner, String path, Object body) {
+        post(owner, path, body, new ParameterizedTypeReference<Void>() { });
+    }
+
+    /**
+     * Whether the request being handled was already forwarded by another replica
+     */
+    public static boolean isForwardedRequest() {
+        return currentRequest()
+                .map(current -> Boolean.parseBoolean(current.getHeader(FORWARDED_HEADER)))
+                .orElse(false);
+    }
+
+    private static Optional<HttpServletRequest> currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes
+                ? Optional.of(((ServletRequestAttributes) attributes).getRequest())
+                : Optional.empty();
+    }
+}
@@ -0,0 +1,17 @@
+package com.bangbang.matching.shard;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Published when matching-service replicas join or leave the ring, i.e. when the set of
+ * corridors owned by this replica may have changed
+ */
+@Getter
+@RequiredArgsConstructor
+public class CorridorOwnershipChangedEvent {
+    private final Set<String> previousMembers;
+    private final Set<String> members;
+}
@@ -0,0 +1,188 @@
+package com.bangbang.matching.shard;
+
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.index.LocationInterner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Assigns corridors to matching-service replicas by consistent hashing over the instances
+ * registered in discovery. A corridor is hashed by its normalized location names, so every
+ * replica agrees on the owner without coordination; adding a replica takes over roughly
+ * 1/N of the corridors and leaves the rest where they are.
+ * With sharding disabled, or while discovery returns nothing, this replica owns every corridor.
+ */
+@Component
+@Slf4j
+public class CorridorRing {
+
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registration;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MatchingProperties matchingProperties;
+    private final String serviceId;
+
+    private volatile Membership membership;
+
+    public CorridorRing(DiscoveryClient discoveryClient,
+                        ObjectProvider<Registration> registration,
+                        ApplicationEventPublisher eventPublisher,
+                        MatchingProperties matchingProperties,
+                        @Value("${spring.application.name}") String serviceId) {
+        this.discoveryClient = discoveryClient;
+        this.registration = registration;
+        this.eventPublisher = eventPublisher;
+        this.matchingProperties = matchingProperties;
+        this.serviceId = serviceId;
+    }
+
+    public boolean isEnabled() {
+        return matchingProperties.getSharding().isEnabled();
+    }
+
+    public boolean isLocal(DemandDto demand) {
+        return !remoteOwnerOf(demand).isPresent();
+    }
+
+    public boolean isLocal(JourneyDto journey) {
+        return !remoteOwnerOf(journey).isPresent();
+    }
+
+    /**
+     * Replica owning the demand's corridor, empty when it is this replica
+     */
+    public Optional<ServiceInstance> remoteOwnerOf(DemandDto demand) {
+        return remoteOwnerOf(corridorKey(demand.getOriginCountry(), demand.getOriginCity(),
+                demand.getDestinationCountry(), demand.getDestinationCity()));
+    }
+
+    /**
+     * Replica owning the journey's corridor, empty when it is this replica
+     */
+    public Optional<ServiceInstance> remoteOwnerOf(JourneyDto journey) {
+        return remoteOwnerOf(corridorKey(journey.getFromCountry(), journey.getFromCity(),
+                journey.getToCountry(), journey.getToCity()));
+    }
+
+    /**
+     * Replica owning a corridor, empty when sharding is off or no replica is registered
+     */
+    public Optional<ServiceInstance> ownerOf(String originCountry, String originCity,
+                                             String destinationCountry, String destinationCity) {
+        Membership current = membership();
+        String owner = current.ring.ownerOf(corridorKey(originCountry, originCity, destinationCountry, destinationCity));
+        return Optional.ofNullable(owner).map(current.instances::get);
+    }
+
+    /**
+     * Every other registered replica
+     */
+    public List<ServiceInstance> peers() {
+        Membership current = membership();
+        return current.instances.entrySet().stream()
+                .filter(entry -> !entry.getKey().equals(current.localId))
+                .map(Map.Entry::getValue)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Registered instance id of this replica, null when it is not registered
+     */
+    public String localId() {
+        return membership().localId;
+    }
+
+    @Scheduled(fixedDelayString = "${matching.sharding.refresh-interval-ms:30000}")
+    public void refresh() {
+        if (!isEnabled()) {
+            return;
+        }
+        Membership previous = membership;
+        Membership next = loadMembership();
+        if (previous != null && previous.ring.members().equals(next.ring.members())) {
+            return;
+        }
+        membership = next;
+        log.info("Corridor ring members: {} (local {})", next.ring.members(), next.localId);
+        if (previous != null) {
+            eventPublisher.publishEvent(new CorridorOwnershipChangedEvent(previous.ring.members(), next.ring.members()));
+        }
+    }
+
+    private Optional<ServiceInstance> remoteOwnerOf(String corridorKey) {
+        if (!isEnabled()) {
+            return Optional.empty();
+        }
+        Membership current = membership();
+        String owner = current.ring.ownerOf(corridorKey);
+        if (owner == null || owner.equals(current.localId)) {
+            return Optional.empty();
+        }
+        return Optional.of(current.instances.get(owner));
+    }
+
+    private Membership membership() {
+        Membership current = membership;
+        if (current == null) {
+            synchronized (this) {
+                if (membership == null) {
+                    membership = loadMembership();
+                }
+                current = membership;
+            }
+        }
+        return current;
+    }
+
+    private Membership loadMembership() {
+        String localId = Optional.ofNullable(registration.getIfAvailable())
+                .map(Registration::getInstanceId)
+                .orElse(null);
+        if (!isEnabled()) {
+            return new Membership(localId, Collections.emptyMap(), 0);
+        }
+        Map<String, ServiceInstance> instances = new LinkedHashMap<>();
+        try {
+            for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
+                instances.put(instance.getInstanceId(), instance);
+            }
+        } catch (Exception e) {
+            log.warn("Could not list {} instances, keeping every corridor local", serviceId, e);
+        }
+        return new Membership(localId, instances, matchingProperties.getSharding().getVirtualNodes());
+    }
+
+    static String corridorKey(String originCountry, String originCity,
+                              String destinationCountry, String destinationCity) {
+        return LocationInterner.locationKey(originCountry, originCity)
+                + '\u0001' + LocationInterner.locationKey(destinationCountry, destinationCity);
+    }
+
+    private static final class Membership {
+        private final String localId;
+        private final Map<String, ServiceInstance> instances;
+        private final HashRing ring;
+
+        private Membership(String localId, Map<String, ServiceInstance> instances, int virtualNodes) {
+            this.localId = localId;
+            this.instances = instances;
+            this.ring = new HashRing(instances.keySet(), virtualNodes);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.bangbang.matching.trace;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Times the stages of the matching pipeline into matching.stage timers tagged by stage,
+ * and into the current {@link MatchTrace} when the request is traced
+ */
+@Component
+@RequiredArgsConstructor
+public class MatchStageTimer {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public <T> T time(String stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    public void time(String stage, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    private void record(String stage, long nanos) {
+        timers.computeIfAbsent(stage, name -> Timer.builder("matching.stage")
+                        .description("Time spent in one stage of the matching pipeline")
+                        .tag("stage", name)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+        MatchTrace.recordStage(stage, nanos);
+    }
+}
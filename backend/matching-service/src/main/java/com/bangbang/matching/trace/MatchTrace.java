@@ -0,0 +1,86 @@
+package com.bangbang.matching.trace;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Per-request latency and candidate-count breakdown of a traced match search.
+ * Traces are opt-in and bound to the request thread; outside a trace every recording call
+ * is a no-op, so instrumented code can call them unconditionally.
+ */
+public final class MatchTrace {
+
+    /**
+     * Request header that turns tracing on, and response header carrying the summary
+     */
+    public static final String HEADER = "X-Match-Trace";
+
+    private static final ThreadLocal<MatchTrace> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Long> stageNanos = new LinkedHashMap<>();
+    private final Map<String, Long> counts = new LinkedHashMap<>();
+    private String remoteSummary;
+
+    private MatchTrace() {
+    }
+
+    public static MatchTrace begin() {
+        MatchTrace trace = new MatchTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    public static void recordStage(String stage, long nanos) {
+        MatchTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.stageNanos.merge(stage, nanos, Long::sum);
+        }
+    }
+
+    public static void count(String name) {
+        count(name, 1);
+    }
+
+    public static void count(String name, long amount) {
+        MatchTrace trace = CURRENT.get();
+        if (trace != null) {
+            trace.counts.merge(name, amount, Long::sum);
+        }
+    }
+
+    /**
+     * Summary returned by the replica the search was forwarded to
+     */
+    public static void recordRemote(String summary) {
+        MatchTrace trace = CURRENT.get();
+        if (trace != null && summary != null) {
+            trace.remoteSummary = summary;
+        }
+    }
+
+    /**
+     * Stages in execution order with their time in milliseconds, then the counts, e.g.
+     * {@code fetch=1.20ms;lookup=0.05ms;...;scanned=120;rejected.weight=7}. A forwarded search
+     * ends with the owner's summary in braces, e.g. {@code forward=8.10ms;remote={fetch=...}}
+     */
+    public String summary() {
+        StringJoiner summary = new StringJoiner(";");
+        stageNanos.forEach((stage, nanos) ->
+                summary.add(String.format(Locale.ROOT, "%s=%.2fms", stage, nanos / 1_000_000.0)));
+        counts.forEach((name, count) -> summary.add(name + "=" + count));
+        if (remoteSummary != null) {
+            summary.add("remote={" + remoteSummary + "}");
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,14 @@
+-- Adds uk_matches_demand_journey to a matches table created before the key existed.
+-- Of each duplicated (demand_id, journey_id) pair the most advanced match is kept
+-- (CONFIRMED, then PENDING, then PROPOSED, then any other status), the oldest on ties.
+DELETE m FROM matches m
+    JOIN matches k ON k.demand_id = m.demand_id AND k.journey_id = m.journey_id
+WHERE (CASE k.status WHEN 'CONFIRMED' THEN 0 WHEN 'PENDING' THEN 1 WHEN 'PROPOSED' THEN 2 ELSE 3 END, k.id)
+    < (CASE m.status WHEN 'CONFIRMED' THEN 0 WHEN 'PENDING' THEN 1 WHEN 'PROPOSED' THEN 2 ELSE 3 END, m.id);
+
+-- Projections of the deleted duplicates
+DELETE v FROM match_view v
+    LEFT JOIN matches m ON m.id = v.match_id
+WHERE m.id IS NULL;
+
+ALTER TABLE matches ADD CONSTRAINT uk_matches_demand_journey UNIQUE (demand_id, journey_id);
@@ -0,0 +1,188 @@
+package com.bangbang.matching.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+
+public class CorridorIndexTest {
+
+    private CorridorIndex corridorIndex;
+
+    @BeforeEach
+    void setUp() {
+        corridorIndex = new CorridorIndex(new LocationInterner(new Gazetteer(), new MatchingProperties()));
+    }
+
+    @Test
+    void findJourneysForDemand_OnlyReturnsSameCorridorDepartingBeforeDeadline() {
+        corridorIndex.upsertJourney(journey(1L, "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 1)));
+        corridorIndex.upsertJourney(journey(2L, " china ", "SHANGHAI", "usa", "new york", LocalDate.of(2026, 5, 9)));
+        corridorIndex.upsertJourney(journey(3L, "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 10)));
+        corridorIndex.upsertJourney(journey(4L, "China", "Beijing", "USA", "New York", LocalDate.of(2026, 5, 1)));
+
+        List<JourneyDto> journeys = corridorIndex.findJourneysForDemand(
+                demand("d1", "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 10)));
+
+        assertEquals(List.of(1L, 2L), journeys.stream().map(JourneyDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void findDemandsForJourney_OnlyReturnsDeadlinesAfterDeparture() {
+        corridorIndex.upsertDemand(demand("d1", "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 1)));
+        corridorIndex.upsertDemand(demand("d2", "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 2)));
+        corridorIndex.upsertDemand(demand("d3", "China", "Shanghai", "USA", "Boston", LocalDate.of(2026, 6, 1)));
+
+        List<DemandDto> demands = corridorIndex.findDemandsForJourney(
+                journey(1L, "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 1)));
+
+        assertEquals(List.of("d2"), demands.stream().map(DemandDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void upsertJourney_MovesJourneyWhenCorridorChangesAndDropsClosedJourneys() {
+        JourneyDto journey = journey(1L, "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 1));
+        corridorIndex.upsertJourney(journey);
+
+        journey.setToCity("Boston");
+        corridorIndex.upsertJourney(journey);
+
+        LocalDate deadline = LocalDate.of(2026, 6, 1);
+        assertTrue(corridorIndex.findJourneysForDemand(
+                demand("d1", "China", "Shanghai", "USA", "New York", deadline)).isEmpty());
+        assertEquals(1, corridorIndex.findJourneysForDemand(
+                demand("d2", "China", "Shanghai", "USA", "Boston", deadline)).size());
+
+        journey.setStatus("CANCELLED");
+        corridorIndex.upsertJourney(journey);
+
+        assertEquals(0, corridorIndex.journeyCount());
+    }
+
+    @Test
+    void reconcile_RemovesListingsMissingFromSnapshot() {
+        corridorIndex.upsertJourney(journey(1L, "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 1)));
+        corridorIndex.upsertDemand(demand("d1", "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 6, 1)));
+
+        corridorIndex.reconcile(
+                List.of(journey(2L, "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 2))),
+                Collections.emptyList());
+
+        assertEquals(1, corridorIndex.journeyCount());
+        assertEquals(0, corridorIndex.demandCount());
+    }
+
+    @Test
+    void reconcile_KeepsListingsChangedWhileSnapshotWasFetched() {
+        corridorIndex.upsertJourney(journey(1L, "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 1)));
+        corridorIndex.beginReconcile();
+
+        // Events applied after the snapshot was taken
+        corridorIndex.upsertJourney(journey(1L, "China", "Shanghai", "USA", "Boston", LocalDate.of(2026, 5, 1)));
+        corridorIndex.upsertDemand(demand("d1", "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 6, 1)));
+
+        corridorIndex.reconcile(
+                List.of(journey(1L, "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 1))),
+                Collections.emptyList());
+        corridorIndex.endReconcile();
+
+        assertEquals(1, corridorIndex.demandCount());
+        assertTrue(corridorIndex.findJourneysForDemand(
+                demand("d2", "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 6, 1))).isEmpty());
+    }
+
+    @Test
+    void upsertJourney_MovesJourneyToItsNewDepartureDay() {
+        JourneyDto journey = journey(1L, "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 1));
+        corridorIndex.upsertJourney(journey);
+        DemandDto demand = demand("d1", "China", "Shanghai", "USA", "New York", LocalDate.of(2026, 5, 5));
+
+        journey.setDepartureDate(LocalDate.of(2026, 5, 5));
+        corridorIndex.upsertJourney(journey);
+        assertTrue(corridorIndex.findJourneysForDemand(demand).isEmpty());
+
+        journey.setDepartureDate(LocalDate.of(2026, 5, 4));
+        corridorIndex.upsertJourney(journey);
+        assertEquals(1, corridorIndex.findJourneysForDemand(demand).size());
+    }
+
+    @Test
+    void findJourneysForDemand_IncludesCorridorsWithNearbyEnds() {
+        LocalDate departure = LocalDate.of(2026, 5, 1);
+        corridorIndex.upsertJourney(journey(1L, "China", "Pudong", "USA", "Manhattan", departure));
+        corridorIndex.upsertJourney(journey(2L, "China", "Shanghai", "USA", "Boston", departure));
+        corridorIndex.upsertJourney(journey(3L, "China", "Suzhou", "USA", "Brooklyn", departure));
+
+        List<JourneyDto> journeys = corridorIndex.findJourneysForDemand(
+                demand("d1", "China", "Shanghai", "USA", "Brooklyn", LocalDate.of(2026, 5, 10)));
+
+        assertEquals(List.of(1L), journeys.stream().map(JourneyDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void findJourneysForDemand_MergesNearbyCorridorsInDepartureOrder() {
+        corridorIndex.upsertJourney(journey(1L, "China", "Shanghai", "USA", "Brooklyn", LocalDate.of(2026, 5, 3)));
+        corridorIndex.upsertJourney(journey(2L, "China", "Pudong", "USA", "Manhattan", LocalDate.of(2026, 5, 1)));
+        corridorIndex.upsertJourney(journey(3L, "China", "Pudong", "USA", "Manhattan", LocalDate.of(2026, 5, 5)));
+
+        List<JourneyDto> journeys = corridorIndex.findJourneysForDemand(
+                demand("d1", "China", "Shanghai", "USA", "Brooklyn", LocalDate.of(2026, 5, 10)));
+
+        assertEquals(List.of(2L, 1L, 3L), journeys.stream().map(JourneyDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void findJourneysForDemand_IgnoresNearbyCorridorsWhenSharded() {
+        MatchingProperties properties = new MatchingProperties();
+        properties.getSharding().setEnabled(true);
+        corridorIndex = new CorridorIndex(new LocationInterner(new Gazetteer(), properties));
+        LocalDate departure = LocalDate.of(2026, 5, 1);
+        corridorIndex.upsertJourney(journey(1L, "China", "Pudong", "USA", "Manhattan", departure));
+        corridorIndex.upsertJourney(journey(2L, "China", "Shanghai", "USA", "Brooklyn", departure));
+
+        List<JourneyDto> journeys = corridorIndex.findJourneysForDemand(
+                demand("d1", "China", "Shanghai", "USA", "Brooklyn", LocalDate.of(2026, 5, 10)));
+
+        assertEquals(List.of(2L), journeys.stream().map(JourneyDto::getId).collect(Collectors.toList()));
+    }
+
+    private JourneyDto journey(Long id, String fromCountry, String fromCity, String toCountry, String toCity,
+                               LocalDate departureDate) {
+        return JourneyDto.builder()
+                .id(id)
+                .userId(100L)
+                .fromCountry(fromCountry)
+                .fromCity(fromCity)
+                .toCountry(toCountry)
+                .toCity(toCity)
+                .departureDate(departureDate)
+                .availableWeight(10.0)
+                .status("ACTIVE")
+                .build();
+    }
+
+    private DemandDto demand(String id, String originCountry, String originCity, String destinationCountry,
+                             String destinationCity, LocalDate deadline) {
+        return DemandDto.builder()
+                .id(id)
+                .userId("user-1")
+                .originCountry(originCountry)
+                .originCity(originCity)
+                .destinationCountry(destinationCountry)
+                .destinationCity(destinationCity)
+                .deadline(deadline)
+                .weightKg(2.0)
+                .itemType("electronics")
+                .status("PENDING")
+                .build();
+    }
+}
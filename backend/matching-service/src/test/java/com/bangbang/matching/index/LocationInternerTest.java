@@ -0,0 +1,96 @@
+package com.bangbang.matching.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+
+public class LocationInternerTest {
+
+    private final LocationInterner locationInterner = new LocationInterner(new Gazetteer(), new MatchingProperties());
+
+    @Test
+    void locationId_IgnoresCaseAndSurroundingWhitespace() {
+        int id = locationInterner.locationId("China", "Shanghai");
+
+        assertNotEquals(LocationInterner.UNKNOWN, id);
+        assertEquals(id, locationInterner.locationId(" china", "SHANGHAI "));
+        assertEquals(1, locationInterner.size());
+    }
+
+    @Test
+    void locationId_KeepsSameCityInDifferentCountriesApart() {
+        assertNotEquals(locationInterner.locationId("USA", "Portland"),
+                locationInterner.locationId("Australia", "Portland"));
+    }
+
+    @Test
+    void intern_AssignsIdsAndPoolsSpellings() {
+        DemandDto first = DemandDto.builder()
+                .originCountry("China").originCity(new String("Shanghai"))
+                .destinationCountry("USA").destinationCity("New York")
+                .build();
+        DemandDto second = DemandDto.builder()
+                .originCountry("China").originCity(new String("Shanghai"))
+                .destinationCountry("USA").destinationCity("New York")
+                .build();
+
+        locationInterner.intern(first);
+        locationInterner.intern(second);
+
+        assertSame(first.getOriginCity(), second.getOriginCity());
+        assertEquals(first.getOriginLocationId(), second.getOriginLocationId());
+        assertEquals(locationInterner.locationId("usa", "new york"), second.getDestinationLocationId());
+    }
+
+    @Test
+    void intern_EncodesItemTypesAsBits() {
+        DemandDto demand = DemandDto.builder().itemType("ELECTRONICS").build();
+        JourneyDto journey = JourneyDto.builder().preferredItemTypes(Set.of("Electronics", "Documents")).build();
+        JourneyDto unrestricted = JourneyDto.builder().build();
+
+        locationInterner.intern(demand);
+        locationInterner.intern(journey);
+        locationInterner.intern(unrestricted);
+
+        assertNotEquals(0L, demand.getItemTypeBit());
+        assertNotEquals(0L, journey.getPreferredItemTypeMask() & demand.getItemTypeBit());
+        assertEquals(0L, unrestricted.getPreferredItemTypeMask());
+    }
+
+    @Test
+    void intern_OnlyReadsListingAlreadyInterned() {
+        AtomicInteger writes = new AtomicInteger();
+        DemandDto demand = new DemandDto() {
+            @Override
+            public void setOriginCity(String originCity) {
+                writes.incrementAndGet();
+                super.setOriginCity(originCity);
+            }
+
+            @Override
+            public void setOriginLocationId(int originLocationId) {
+                writes.incrementAndGet();
+                super.setOriginLocationId(originLocationId);
+            }
+        };
+        demand.setOriginCountry("China");
+        demand.setOriginCity("Shanghai");
+        demand.setDestinationCountry("USA");
+        demand.setDestinationCity("New York");
+        demand.setItemType("ELECTRONICS");
+        locationInterner.intern(demand);
+        int afterFirst = writes.get();
+
+        locationInterner.intern(demand);
+
+        assertEquals(afterFirst, writes.get());
+        assertEquals(locationInterner.locationId("China", "Shanghai"), demand.getOriginLocationId());
+    }
+}
@@ -0,0 +1,83 @@
+package com.bangbang.matching.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bangbang.matching.config.MatchingProperties;
+import com.bangbang.matching.dto.DemandDto;
+import com.bangbang.matching.dto.JourneyDto;
+import com.bangbang.matching.index.Gazetteer;
+import com.bangbang.matching.index.LocationInterner;
+import com.bangbang.matching.model.Match;
+
+public class CapacityAssignerTest {
+
+    private final LocationInterner locationInterner = new LocationInterner(new Gazetteer(), new MatchingProperties());
+    private CapacityAssigner capacityAssigner;
+
+    @BeforeEach
+    void setUp() {
+        MatchScorer matchScorer = new MatchScorer(locationInterner);
+        capacityAssigner = new CapacityAssigner(matchScorer, new CandidateFilter(matchScorer), new MatchingProperties());
+    }
+
+    @Test
+    void assign_NeverPromisesMoreWeightThanTheJourneyCarries() {
+        List<JourneyDto> journeys = List.of(journey(1L, 10.0));
+        List<DemandDto> demands = List.of(demand("d1", 6.0), demand("d2", 6.0), demand("d3", 4.0));
+
+        List<Match> matches = capacityAssigner.assign(journeys, demands, Collections.emptyMap());
+
+        double promised = matches.stream()
+                .mapToDouble(match -> demands.stream()
+                        .filter(demand -> demand.getId().equals(match.getDemandId()))
+                        .findFirst().orElseThrow().getWeightKg())
+                .sum();
+        assertEquals(2, matches.size());
+        assertTrue(promised <= 10.0);
+    }
+
+    @Test
+    void assign_PlacesEachDemandOnceAndHonoursCommittedWeight() {
+        List<JourneyDto> journeys = List.of(journey(1L, 10.0), journey(2L, 10.0));
+        List<DemandDto> demands = List.of(demand("d1", 5.0), demand("d2", 5.0));
+
+        List<Match> matches = capacityAssigner.assign(journeys, demands, Map.of(1L, 10.0));
+
+        assertEquals(2, matches.size());
+        assertTrue(matches.stream().allMatch(match -> match.getJourneyId() == 2L));
+        assertEquals(2, matches.stream().map(Match::getDemandId).distinct().count());
+    }
+
+    private JourneyDto journey(Long id, double availableWeight) {
+        return locationInterner.intern(JourneyDto.builder()
+                .id(id)
+                .userId(id)
+                .fromCountry("China").fromCity("Shanghai")
+                .toCountry("USA").toCity("New York")
+                .departureDate(LocalDate.of(2026, 5, 1))
+                .availableWeight(availableWeight)
+                .status("ACTIVE")
+                .build());
+    }
+
+    private DemandDto demand(String id, double weightKg) {
+        return locationInterner.intern(DemandDto.builder()
+                .id(id)
+                .userId("user-" + id)
+                .itemType("books")
+                .weightKg(weightKg)
+                .originCountry("China").originCity("Shanghai")
+                .destinationCountry("USA").destinationCity("New York")
+                .deadline(LocalDate.of(2026, 5, 20))
+                .status("PENDING")
+                .build());
+    }
+}
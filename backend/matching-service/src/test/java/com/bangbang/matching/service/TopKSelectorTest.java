@@ -0,0 +1,40 @@
+package com.bangbang.matching.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class TopKSelectorTest {
+
+    @Test
+    void offer_KeepsOnlyTheKBestCandidates() {
+        TopKSelector selector = new TopKSelector(3);
+        double[] scores = {0.55, 0.91, 0.62, 0.99, 0.70, 0.51};
+        for (int i = 0; i < scores.length; i++) {
+            selector.offer(scores[i], i);
+        }
+
+        List<Integer> selected = new ArrayList<>();
+        selector.forEachDescending((candidate, score) -> selected.add(candidate));
+
+        assertEquals(List.of(3, 1, 4), selected);
+        assertEquals(0.70, selector.threshold());
+    }
+
+    @Test
+    void threshold_IsNegativeInfinityUntilFull() {
+        TopKSelector selector = new TopKSelector(2);
+        selector.offer(0.8, 0);
+
+        assertFalse(selector.isFull());
+        assertEquals(Double.NEGATIVE_INFINITY, selector.threshold());
+
+        selector.offer(0.6, 1);
+
+        assertTrue(selector.isFull());
+        assertEquals(0.6, selector.threshold());
+    }
+}
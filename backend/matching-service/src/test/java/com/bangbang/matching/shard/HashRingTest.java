@@ -0,0 +1,49 @@
+package com.bangbang.matching.shard;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class HashRingTest {
+
+    private static final int KEYS = 10000;
+
+    @Test
+    void ownerOf_EmptyRingHasNoOwner() {
+        assertNull(new HashRing(List.of(), 128).ownerOf("china\u0000shanghai\u0001usa\u0000new york"));
+    }
+
+    @Test
+    void ownerOf_SpreadsKeysAcrossMembers() {
+        HashRing ring = new HashRing(List.of("a", "b", "c", "d"), 128);
+
+        int[] owned = new int[4];
+        for (int i = 0; i < KEYS; i++) {
+            owned[ring.ownerOf("corridor-" + i).charAt(0) - 'a']++;
+        }
+
+        for (int count : owned) {
+            assertTrue(count > KEYS / 8, "uneven split: " + count);
+        }
+    }
+
+    @Test
+    void ownerOf_AddingMemberOnlyMovesKeysToIt() {
+        HashRing before = new HashRing(List.of("a", "b", "c"), 128);
+        HashRing after = new HashRing(List.of("a", "b", "c", "d"), 128);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "corridor-" + i;
+            String previousOwner = before.ownerOf(key);
+            String owner = after.ownerOf(key);
+            if (!owner.equals(previousOwner)) {
+                assertEquals("d", owner);
+                moved++;
+            }
+        }
+        assertTrue(moved > 0 && moved < KEYS / 2, "moved " + moved);
+    }
+}
@@ -0,0 +1,46 @@
+package com.bangbang.matching.trace;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class MatchTraceTest {
+
+    @AfterEach
+    void tearDown() {
+        MatchTrace.end();
+    }
+
+    @Test
+    void summary_ListsStagesInOrderThenCounts() {
+        MatchTrace trace = MatchTrace.begin();
+
+        MatchTrace.recordStage("lookup", 1_500_000);
+        MatchTrace.count("rejected.weight");
+        MatchTrace.recordStage("filter", 250_000);
+        MatchTrace.count("rejected.weight");
+        MatchTrace.count("scanned", 40);
+
+        assertEquals("lookup=1.50ms;filter=0.25ms;rejected.weight=2;scanned=40", trace.summary());
+    }
+
+    @Test
+    void summary_EndsWithTheSummaryOfTheOwnerReplica() {
+        MatchTrace trace = MatchTrace.begin();
+
+        MatchTrace.recordStage("forward", 8_000_000);
+        MatchTrace.recordRemote("lookup=0.05ms;scored=3");
+
+        assertEquals("forward=8.00ms;remote={lookup=0.05ms;scored=3}", trace.summary());
+    }
+
+    @Test
+    void recording_IsIgnoredOutsideATrace() {
+        MatchTrace.count("scanned", 40);
+        MatchTrace.recordStage("lookup", 1_000);
+
+        assertFalse(MatchTrace.isActive());
+        assertEquals("", MatchTrace.begin().summary());
+    }
+}
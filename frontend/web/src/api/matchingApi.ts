@@ -66,6 +66,11 @@ export interface Journey {
   updatedAt: string;
 }
 
+export interface MatchPage {
+  items: Match[];
+  nextCursor: string | null;
+}
+
 export interface MatchConfirmRequest {
   confirmed: boolean;
 }
@@ -87,6 +92,16 @@ const matchingApi = {
     return response.data;
   },
 
+  // Get one page of matches for the current user, newest first
+  getMyMatchesPage: async (cursor?: string | null, limit = 20, status?: string): Promise<MatchPage> => {
+    const url = status ? `${MATCHING_API}/status/${status}/page` : `${MATCHING_API}/page`;
+    const response = await axios.get(url, {
+      headers: getAuthHeader(),
+      params: { cursor: cursor || undefined, limit }
+    });
+    return response.data;
+  },
+
   // Get a specific match by ID
   getMatchById: async (id: number): Promise<Match> => {
     const response = await axios.get(`${MATCHING_API}/${id}`, {